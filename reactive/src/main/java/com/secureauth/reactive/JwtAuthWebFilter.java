@@ -0,0 +1,174 @@
+package com.secureauth.reactive;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.secureauth.exception.ErrorCode;
+import com.secureauth.exception.ErrorResponseDto;
+import com.secureauth.security.JwtTokenProvider;
+import com.secureauth.security.TokenFingerprint;
+import com.secureauth.security.VerifiedToken;
+import io.jsonwebtoken.JwtException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@code JwtAuthFilter}: verifies the bearer token, checks the
+ * blacklist and the token generations, and establishes the principal without blocking the event loop.
+ */
+@Component
+public class JwtAuthWebFilter implements WebFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(JwtAuthWebFilter.class);
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtTokenProvider jwtTokenProvider;
+    private final ReactiveUserService userService;
+    private final ReactiveTokenBlacklistService tokenBlacklistService;
+    private final ReactiveTokenGenerationService tokenGenerationService;
+    private final ReactiveSecurityVersionService securityVersionService;
+    private final ObjectMapper objectMapper;
+    private final boolean statelessPrincipal;
+
+    public JwtAuthWebFilter(JwtTokenProvider jwtTokenProvider,
+                            ReactiveUserService userService,
+                            ReactiveTokenBlacklistService tokenBlacklistService,
+                            ReactiveTokenGenerationService tokenGenerationService,
+                            ReactiveSecurityVersionService securityVersionService,
+                            ObjectMapper objectMapper,
+                            @Value("${jwt.stateless-principal:false}") boolean statelessPrincipal) {
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.userService = userService;
+        this.tokenBlacklistService = tokenBlacklistService;
+        this.tokenGenerationService = tokenGenerationService;
+        this.securityVersionService = securityVersionService;
+        this.objectMapper = objectMapper;
+        this.statelessPrincipal = statelessPrincipal;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String authHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authHeader == null || !authHeader.startsWith(BEARER_PREFIX)) {
+            return chain.filter(exchange);
+        }
+        return Mono.defer(() -> authenticate(authHeader.substring(BEARER_PREFIX.length())))
+                .onErrorResume(DataAccessException.class, e -> {
+                    // Redis and R2DBC failures alike; the token itself may be fine, so don't answer 401
+                    log.error("Backing store failed during token validation: {}", e.getMessage());
+                    return Mono.just(Outcome.unavailable("Service temporarily unavailable"));
+                })
+                .onErrorResume(JwtException.class, e -> {
+                    // Expected for expired and forged tokens; logging each one at error would be costly
+                    log.debug("Rejected invalid token: {}", e.getMessage());
+                    return Mono.just(Outcome.rejected("Invalid token"));
+                })
+                .onErrorResume(e -> {
+                    log.error("Unexpected error during token validation: {}", e.getMessage(), e);
+                    return Mono.just(Outcome.failed("Token validation failed"));
+                })
+                .flatMap(outcome -> {
+                    if (outcome.rejection() != null) {
+                        return reject(exchange.getResponse(), outcome.status(), outcome.rejection());
+                    }
+                    if (outcome.authentication() == null) {
+                        return chain.filter(exchange);
+                    }
+                    return chain.filter(exchange)
+                            .contextWrite(ReactiveSecurityContextHolder.withAuthentication(outcome.authentication()));
+                });
+    }
+
+    private Mono<Outcome> authenticate(String token) {
+        // Verification is CPU-only and usually served from the verified-token cache.
+        VerifiedToken verified = jwtTokenProvider.verify(token);
+        return tokenBlacklistService.isTokenBlacklisted(verified.tokenId())
+                .flatMap(blacklisted -> {
+                    if (blacklisted) {
+                        if (log.isDebugEnabled()) {
+                            log.debug("Token {} is blacklisted, sending error response",
+                                    TokenFingerprint.of(verified.tokenId()));
+                        }
+                        return Mono.just(Outcome.rejected("Token is blacklisted"));
+                    }
+                    String username = verified.username();
+                    if (username == null) {
+                        return Mono.just(Outcome.ANONYMOUS);
+                    }
+                    return tokenGenerationService.isCurrent(verified)
+                            .flatMap(current -> current
+                                    ? principal(verified)
+                                    : Mono.just(Outcome.rejected("Token is no longer valid")));
+                });
+    }
+
+    private Mono<Outcome> principal(VerifiedToken verified) {
+        String username = verified.username();
+        if (statelessPrincipal && verified.isSelfContained()) {
+            // Build the principal from the token; besides the generations, only the security version is checked.
+            return securityVersionService.isCurrent(username, verified.securityVersion())
+                    .map(current -> current
+                            ? Outcome.authenticated(new User(username, "", verified.authorities()))
+                            : Outcome.rejected("Token is no longer valid"));
+        }
+        return userService.findByUsername(username)
+                .map(userDetails -> jwtTokenProvider.isValid(verified, userDetails)
+                        ? Outcome.authenticated(userDetails)
+                        : Outcome.ANONYMOUS);
+    }
+
+    private Mono<Void> reject(ServerHttpResponse response, HttpStatus status, String message) {
+        if (response.isCommitted()) {
+            return Mono.empty();
+        }
+        response.setStatusCode(status);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        ErrorCode code = switch (status) {
+            case SERVICE_UNAVAILABLE -> ErrorCode.SERVICE_UNAVAILABLE;
+            case INTERNAL_SERVER_ERROR -> ErrorCode.INTERNAL_SERVER_ERROR;
+            default -> ErrorCode.UNAUTHORIZED;
+        };
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(new ErrorResponseDto(code.getCode(), message));
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+        } catch (JsonProcessingException e) {
+            return response.setComplete();
+        }
+    }
+
+    private record Outcome(Authentication authentication, HttpStatus status, String rejection) {
+        private static final Outcome ANONYMOUS = new Outcome(null, null, null);
+
+        static Outcome authenticated(UserDetails principal) {
+            return new Outcome(new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()),
+                    null, null);
+        }
+
+        static Outcome rejected(String message) {
+            return new Outcome(null, HttpStatus.UNAUTHORIZED, message);
+        }
+
+        static Outcome unavailable(String message) {
+            return new Outcome(null, HttpStatus.SERVICE_UNAVAILABLE, message);
+        }
+
+        static Outcome failed(String message) {
+            return new Outcome(null, HttpStatus.INTERNAL_SERVER_ERROR, message);
+        }
+    }
+}
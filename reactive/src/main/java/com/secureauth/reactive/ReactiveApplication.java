@@ -0,0 +1,28 @@
+package com.secureauth.reactive;
+
+import com.secureauth.security.BCryptCostCalibrator;
+import com.secureauth.security.JwtTokenProvider;
+import com.secureauth.security.SigningKeyProperties;
+import com.secureauth.security.SigningKeyRegistry;
+import com.secureauth.security.VerifiedTokenCache;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Reactive edition of the Secure Auth service.
+ *
+ * <p>Serves the {@code /v1/auth} endpoints and authenticates requests on a few event-loop
+ * threads, using reactive Redis and R2DBC against the same Redis keys and tables as the
+ * servlet application. Token handling is shared with it, so tokens issued by either
+ * edition are accepted by both.</p>
+ */
+@SpringBootApplication
+@Import({SigningKeyProperties.class, SigningKeyRegistry.class, VerifiedTokenCache.class,
+        JwtTokenProvider.class, BCryptCostCalibrator.class})
+public class ReactiveApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(ReactiveApplication.class, args);
+    }
+}
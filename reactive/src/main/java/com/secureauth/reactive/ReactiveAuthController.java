@@ -0,0 +1,114 @@
+package com.secureauth.reactive;
+
+import com.secureauth.dto.AuthRequest;
+import com.secureauth.dto.AuthResponse;
+import com.secureauth.dto.ChangePasswordRequest;
+import com.secureauth.security.JwtTokenProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import jakarta.validation.Valid;
+import java.security.Principal;
+
+/**
+ * Handles authentication-related HTTP requests, mirroring {@code AuthController}.
+ */
+@RestController
+@RequestMapping("/v1/auth")
+public class ReactiveAuthController {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveAuthController.class);
+    private final ReactiveUserService userService;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final ReactiveTokenBlacklistService tokenBlacklistService;
+    private final ReactiveTokenGenerationService tokenGenerationService;
+
+    public ReactiveAuthController(ReactiveUserService userService,
+                                  JwtTokenProvider jwtTokenProvider,
+                                  ReactiveTokenBlacklistService tokenBlacklistService,
+                                  ReactiveTokenGenerationService tokenGenerationService) {
+        this.userService = userService;
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.tokenBlacklistService = tokenBlacklistService;
+        this.tokenGenerationService = tokenGenerationService;
+    }
+
+    /**
+     * Registers a new user and returns a JWT token.
+     *
+     * @param request the signup request containing username and password
+     * @return the JWT token
+     */
+    @PostMapping("/signUp")
+    public Mono<ResponseEntity<AuthResponse>> signUp(@Valid @RequestBody AuthRequest request) {
+        log.debug("Processing signUp for username: {}", request.getUsername());
+        return userService.signup(request.getUsername(), request.getPassword())
+                .flatMap(this::tokenResponse);
+    }
+
+    /**
+     * Authenticates a user and returns a JWT token.
+     *
+     * @param request the signin request containing username and password
+     * @return the JWT token
+     */
+    @PostMapping("/signIn")
+    public Mono<ResponseEntity<AuthResponse>> signIn(@Valid @RequestBody AuthRequest request) {
+        log.debug("Processing signIn for username: {}", request.getUsername());
+        return userService.signIn(request.getUsername(), request.getPassword())
+                .flatMap(this::tokenResponse);
+    }
+
+    /**
+     * Logs out the user by blacklisting their JWT token.
+     *
+     * @param request the HTTP request containing the Authorization header
+     * @return a success message
+     */
+    @PostMapping("/signOut")
+    public Mono<ResponseEntity<String>> signOut(ServerHttpRequest request) {
+        log.debug("Processing signOut request");
+        String authHeader = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        Mono<Void> blacklist = Mono.empty();
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            blacklist = Mono.fromCallable(() -> jwtTokenProvider.verify(authHeader.substring(7)))
+                    .flatMap(verified -> tokenBlacklistService.blacklistToken(verified.tokenId(), verified.expiresAt()));
+        }
+        return blacklist.thenReturn(ResponseEntity.ok("Successfully logged out"));
+    }
+
+    /**
+     * Changes the current user's password and returns a fresh token.
+     *
+     * @param request   the request containing the current and new password
+     * @param principal the authenticated user
+     * @return a new JWT token
+     */
+    @PostMapping("/changePassword")
+    public Mono<ResponseEntity<AuthResponse>> changePassword(@Valid @RequestBody ChangePasswordRequest request,
+                                                             Mono<Principal> principal) {
+        return principal.flatMap(user -> {
+            log.debug("Processing changePassword for username: {}", user.getName());
+            return userService.changePassword(user.getName(), request.getCurrentPassword(), request.getNewPassword());
+        }).flatMap(this::tokenResponse);
+    }
+
+    /**
+     * Issues a token carrying the user's current generations. This edition has no refresh
+     * tokens, so the token is not bound to a session.
+     */
+    private Mono<ResponseEntity<AuthResponse>> tokenResponse(UserAccount account) {
+        return tokenGenerationService.current(account.username(), account.authorities())
+                .map(generations -> jwtTokenProvider.generateToken(account.username(), account.authorities(),
+                        account.securityVersion(), null, generations))
+                .map(token -> ResponseEntity.ok(new AuthResponse(token)));
+    }
+}
@@ -0,0 +1,106 @@
+package com.secureauth.reactive;
+
+import com.secureauth.exception.CustomException;
+import com.secureauth.exception.ErrorCode;
+import com.secureauth.exception.ErrorResponseDto;
+import io.jsonwebtoken.JwtException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+
+import java.util.stream.Collectors;
+
+/**
+ * Maps exceptions to the same error responses as {@code GlobalExceptionHandler}.
+ */
+@RestControllerAdvice
+public class ReactiveExceptionHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveExceptionHandler.class);
+
+    /**
+     * Handles JWT-related exceptions.
+     *
+     * @param ex the JwtException
+     * @return an error response with 401 status
+     */
+    @ExceptionHandler(JwtException.class)
+    public ResponseEntity<ErrorResponseDto> handleJwtException(JwtException ex) {
+        log.debug("JWT error: {}", ex.getMessage());
+        ErrorResponseDto responseDto = new ErrorResponseDto(ErrorCode.UNAUTHORIZED.getCode(), "Invalid or expired token");
+        return new ResponseEntity<>(responseDto, HttpStatus.UNAUTHORIZED);
+    }
+
+    /**
+     * Handles custom application exceptions.
+     *
+     * @param ex the CustomException
+     * @return an error response with the specified error code and message; error codes that are
+     * HTTP error statuses (e.g. 503) are used as the status, everything else is a 400
+     */
+    @ExceptionHandler(CustomException.class)
+    public ResponseEntity<ErrorResponseDto> handleCustomException(CustomException ex) {
+        ErrorResponseDto responseDto = new ErrorResponseDto(ex.getErrorCode(), ex.getMessage());
+        HttpStatus status = HttpStatus.resolve(ex.getErrorCode());
+        if (status == null || !status.isError()) {
+            status = HttpStatus.BAD_REQUEST;
+        }
+        // Client errors such as failed sign-ins are frequent and not worth an error line each
+        if (status.is5xxServerError()) {
+            log.error("Custom exception: {}", ex.getMessage());
+        } else {
+            log.debug("Custom exception: {}", ex.getMessage());
+        }
+        return new ResponseEntity<>(responseDto, status);
+    }
+
+    /**
+     * Handles validation exceptions for invalid request bodies.
+     *
+     * @param ex the WebExchangeBindException
+     * @return an error response with 400 status
+     */
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ErrorResponseDto> handleValidationException(WebExchangeBindException ex) {
+        String errorMessage = ex.getFieldErrors()
+                .stream()
+                .map(error -> error.getField() + ": " + error.getDefaultMessage())
+                .collect(Collectors.joining(", "));
+        log.warn("Validation error: {}", errorMessage);
+        ErrorResponseDto responseDto = new ErrorResponseDto(ErrorCode.BAD_REQUEST.getCode(), errorMessage);
+        return new ResponseEntity<>(responseDto, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handles a database or Redis that cannot be reached.
+     *
+     * @param ex the exception
+     * @return an error response with 503 status
+     */
+    @ExceptionHandler(DataAccessResourceFailureException.class)
+    public ResponseEntity<ErrorResponseDto> handleResourceFailure(DataAccessResourceFailureException ex) {
+        log.error("Backing store unavailable: {}", ex.getMessage());
+        ErrorResponseDto responseDto = new ErrorResponseDto(ErrorCode.SERVICE_UNAVAILABLE.getCode(),
+                "Service temporarily unavailable, please retry shortly.");
+        return new ResponseEntity<>(responseDto, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    /**
+     * Handles all uncaught exceptions.
+     *
+     * @param ex the Exception
+     * @return an error response with 500 status
+     */
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ErrorResponseDto> handleGlobalException(Exception ex) {
+        log.error("Unexpected error: {}", ex.getMessage(), ex);
+        ErrorResponseDto responseDto = new ErrorResponseDto(ErrorCode.INTERNAL_SERVER_ERROR.getCode(),
+                "An unexpected error occurred.");
+        return new ResponseEntity<>(responseDto, HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+}
@@ -0,0 +1,55 @@
+package com.secureauth.reactive;
+
+import com.secureauth.security.BCryptCostCalibrator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authentication.HttpStatusServerEntryPoint;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+
+/**
+ * Configures Spring Security for the reactive edition.
+ */
+@Configuration
+public class ReactiveSecurityConfig {
+
+    /**
+     * Configures a stateless filter chain authenticated by {@link JwtAuthWebFilter}.
+     *
+     * @param http          the ServerHttpSecurity to configure
+     * @param jwtAuthFilter the JWT filter
+     * @return the configured SecurityWebFilterChain
+     */
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http, JwtAuthWebFilter jwtAuthFilter) {
+        return http
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+                .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+                .logout(ServerHttpSecurity.LogoutSpec::disable)
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .authorizeExchange(exchange -> exchange
+                        .pathMatchers("/v1/auth/signUp", "/v1/auth/signIn").permitAll()
+                        .anyExchange().authenticated()
+                )
+                .exceptionHandling(ex -> ex.authenticationEntryPoint(new HttpStatusServerEntryPoint(HttpStatus.UNAUTHORIZED)))
+                .addFilterAt(jwtAuthFilter, SecurityWebFiltersOrder.AUTHENTICATION)
+                .build();
+    }
+
+    /**
+     * Provides a password encoder for hashing passwords.
+     *
+     * @param costCalibrator the BCrypt cost calibrator
+     * @return the BCryptPasswordEncoder
+     */
+    @Bean
+    public PasswordEncoder passwordEncoder(BCryptCostCalibrator costCalibrator) {
+        return new BCryptPasswordEncoder(costCalibrator.getStrength());
+    }
+}
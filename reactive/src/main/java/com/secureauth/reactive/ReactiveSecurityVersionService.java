@@ -0,0 +1,61 @@
+package com.secureauth.reactive;
+
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Reactive counterpart of {@code SecurityVersionService}, sharing its {@code secver:} Redis keys.
+ */
+@Service
+public class ReactiveSecurityVersionService {
+
+    private static final String VERSION_PREFIX = "secver:";
+    private static final Duration VERSION_TTL = Duration.ofHours(24);
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final DatabaseClient databaseClient;
+
+    public ReactiveSecurityVersionService(ReactiveStringRedisTemplate redisTemplate,
+                                          DatabaseClient databaseClient) {
+        this.redisTemplate = redisTemplate;
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * Checks whether a token's security version is still the user's current one.
+     *
+     * @param username the token subject
+     * @param version  the security version carried by the token
+     * @return true if the version is current, false if it is stale or the user no longer exists
+     */
+    public Mono<Boolean> isCurrent(String username, long version) {
+        String key = VERSION_PREFIX + username;
+        return redisTemplate.opsForValue().get(key)
+                .map(Long::parseLong)
+                .switchIfEmpty(Mono.defer(() -> databaseClient
+                        .sql("select security_version from users where username = :username")
+                        .bind("username", username)
+                        .map(row -> row.get("security_version", Long.class))
+                        .one()
+                        .flatMap(current -> redisTemplate.opsForValue()
+                                .setIfAbsent(key, current.toString(), VERSION_TTL)
+                                .thenReturn(current))))
+                .map(current -> current == version)
+                .defaultIfEmpty(false);
+    }
+
+    /**
+     * Publishes a user's new security version. Must be called after the change is committed.
+     *
+     * @param username the username
+     * @param version  the new security version
+     * @return completion of the Redis write
+     */
+    public Mono<Void> publish(String username, long version) {
+        return redisTemplate.opsForValue().set(VERSION_PREFIX + username, Long.toString(version), VERSION_TTL).then();
+    }
+}
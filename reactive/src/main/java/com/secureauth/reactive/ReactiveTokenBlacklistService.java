@@ -0,0 +1,196 @@
+package com.secureauth.reactive;
+
+import com.secureauth.cache.RevocationNearCache;
+import com.secureauth.security.TokenFingerprint;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.ReactiveRedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Reactive counterpart of {@code TokenBlacklistService}.
+ *
+ * <p>Uses the same {@code blacklisted:} keys and revocation channel, so both editions see
+ * each other's sign-outs. The near-cache only answers once the channel subscription is
+ * active and a full rebuild has completed; it is rebuilt periodically and after every
+ * resubscription.</p>
+ */
+@Service
+public class ReactiveTokenBlacklistService {
+
+    /** Must match {@code TokenBlacklistService.REVOCATION_CHANNEL}. */
+    static final String REVOCATION_CHANNEL = "blacklist:events";
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveTokenBlacklistService.class);
+    private static final String BLACKLIST_PREFIX = "blacklisted:";
+    private static final int SCAN_BATCH_SIZE = 500;
+    private static final int TTL_CONCURRENCY = 64;
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final ReactiveRedisConnectionFactory connectionFactory;
+    private final RevocationNearCache nearCache;
+    private final Duration resyncInterval;
+    private final Disposable.Composite subscriptions = Disposables.composite();
+    private volatile boolean subscribed;
+
+    public ReactiveTokenBlacklistService(ReactiveStringRedisTemplate redisTemplate,
+                                         ReactiveRedisConnectionFactory connectionFactory,
+                                         @Value("${blacklist.near-cache.enabled:true}") boolean nearCacheEnabled,
+                                         @Value("${blacklist.near-cache.expected-insertions:200000}") int expectedInsertions,
+                                         @Value("${blacklist.near-cache.false-positive-rate:0.001}") double falsePositiveRate,
+                                         @Value("${blacklist.near-cache.exact-capacity:10000}") int exactCapacity,
+                                         @Value("${blacklist.near-cache.tracked-capacity:500000}") int trackedCapacity,
+                                         @Value("${blacklist.near-cache.resync-interval-ms:60000}") long resyncIntervalMs) {
+        this.redisTemplate = redisTemplate;
+        this.connectionFactory = connectionFactory;
+        this.nearCache = nearCacheEnabled
+                ? new RevocationNearCache(expectedInsertions, falsePositiveRate, exactCapacity, trackedCapacity)
+                : null;
+        this.resyncInterval = Duration.ofMillis(resyncIntervalMs);
+    }
+
+    /**
+     * Adds a token to the blacklist until the token itself expires and notifies the other nodes.
+     *
+     * @param tokenId   the token ID, see {@link com.secureauth.security.VerifiedToken#tokenId()}
+     * @param expiresAt the token expiry
+     * @return completion of the Redis writes
+     */
+    public Mono<Void> blacklistToken(String tokenId, Instant expiresAt) {
+        long ttlMs = expiresAt.toEpochMilli() - System.currentTimeMillis();
+        if (ttlMs <= 0) {
+            if (log.isDebugEnabled()) {
+                log.debug("Token {} already expired, not blacklisting", TokenFingerprint.of(tokenId));
+            }
+            return Mono.empty();
+        }
+        String key = BLACKLIST_PREFIX + tokenId;
+        Mono<Boolean> write = redisTemplate.opsForValue().set(key, "1", Duration.ofMillis(ttlMs));
+        if (nearCache != null) {
+            write = write
+                    .doOnSuccess(ignored -> nearCache.revoked(key, expiresAt.toEpochMilli()))
+                    .flatMap(ignored -> redisTemplate.convertAndSend(REVOCATION_CHANNEL, expiresAt.toEpochMilli() + "|" + key))
+                    .thenReturn(true);
+        }
+        return write
+                .doOnSuccess(ignored -> {
+                    if (log.isDebugEnabled()) {
+                        log.debug("Blacklisted token {}", TokenFingerprint.of(tokenId));
+                    }
+                })
+                .doOnError(e -> log.error("Failed to blacklist token: {}", e.getMessage()))
+                .then();
+    }
+
+    /**
+     * Checks if a token is blacklisted.
+     * Only near-cache candidates and lookups made while the cache is out of sync reach Redis.
+     *
+     * @param tokenId the token ID to check
+     * @return true if the token is blacklisted, false otherwise
+     */
+    public Mono<Boolean> isTokenBlacklisted(String tokenId) {
+        String key = BLACKLIST_PREFIX + tokenId;
+        if (nearCache != null) {
+            RevocationNearCache.Verdict verdict = nearCache.lookup(key);
+            if (verdict != RevocationNearCache.Verdict.UNKNOWN) {
+                return Mono.just(verdict == RevocationNearCache.Verdict.REVOKED);
+            }
+        }
+        return redisTemplate.hasKey(key).defaultIfEmpty(false);
+    }
+
+    /**
+     * Subscribes to revocation events and keeps the near-cache in sync.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (nearCache == null) {
+            return;
+        }
+        // receiveLater completes once the subscription is active, so no event can fall between it and the rebuild.
+        subscriptions.add(Flux.using(() -> new ReactiveRedisMessageListenerContainer(connectionFactory),
+                        container -> container.receiveLater(ChannelTopic.of(REVOCATION_CHANNEL))
+                                .flatMapMany(messages -> {
+                                    subscribed = true;
+                                    return rebuild().thenMany(messages);
+                                }),
+                        ReactiveRedisMessageListenerContainer::destroy)
+                .doOnNext(message -> onMessage(message.getMessage()))
+                .doOnError(e -> {
+                    subscribed = false;
+                    nearCache.invalidate();
+                    log.warn("Revocation subscription unavailable, falling back to Redis lookups: {}", e.getMessage());
+                })
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(resyncInterval))
+                .subscribe());
+        subscriptions.add(Flux.interval(resyncInterval, resyncInterval)
+                .filter(tick -> subscribed)
+                .concatMap(tick -> rebuild())
+                .subscribe());
+        subscriptions.add(Flux.interval(Duration.ofSeconds(1))
+                .subscribe(tick -> nearCache.purgeExpired()));
+    }
+
+    @PreDestroy
+    void stop() {
+        subscriptions.dispose();
+    }
+
+    private void onMessage(String payload) {
+        int separator = payload.indexOf('|');
+        if (separator <= 0) {
+            log.warn("Ignoring malformed revocation event");
+            return;
+        }
+        try {
+            nearCache.revoked(payload.substring(separator + 1), Long.parseLong(payload.substring(0, separator)));
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring malformed revocation event");
+        }
+    }
+
+    private Mono<Void> rebuild() {
+        long now = System.currentTimeMillis();
+        return Mono.fromRunnable(nearCache::beginRebuild)
+                .thenMany(redisTemplate.scan(ScanOptions.scanOptions().match(BLACKLIST_PREFIX + "*").count(SCAN_BATCH_SIZE).build()))
+                .flatMap(key -> redisTemplate.execute(connection -> connection.keyCommands()
+                                .pTtl(ByteBuffer.wrap(key.getBytes(StandardCharsets.UTF_8))))
+                        .next()
+                        .doOnNext(ttlMs -> {
+                            if (ttlMs == -1) {
+                                // Keys without a TTL never expire on their own.
+                                nearCache.addToRebuild(key, Long.MAX_VALUE);
+                            } else if (ttlMs > 0) {
+                                nearCache.addToRebuild(key, now + ttlMs);
+                            }
+                        }), TTL_CONCURRENCY)
+                .then(Mono.fromRunnable(nearCache::completeRebuild))
+                .doOnSuccess(ignored -> log.debug("Revocation near-cache rebuilt"))
+                .onErrorResume(e -> {
+                    nearCache.abortRebuild();
+                    nearCache.invalidate();
+                    log.warn("Failed to rebuild revocation near-cache, falling back to Redis lookups: {}", e.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+}
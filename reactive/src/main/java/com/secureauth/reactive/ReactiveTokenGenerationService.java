@@ -0,0 +1,241 @@
+package com.secureauth.reactive;
+
+import com.secureauth.cache.ExpiringLruCache;
+import com.secureauth.security.VerifiedToken;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.ReactiveRedisMessageListenerContainer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reactive counterpart of {@code TokenGenerationService}.
+ *
+ * <p>Uses the same {@code gen:} keys, bump script and {@code generation:events} channel, so a
+ * sign-out everywhere, role change or password change on either edition revokes tokens on
+ * both. Generations are cached locally for {@code tokens.generation.local-ttl-ms}; bumps
+ * received on the channel update the cache right away. There is no replica for Redis
+ * outages: a check that needs Redis fails with {@link RedisConnectionFailureException}.</p>
+ */
+@Service
+public class ReactiveTokenGenerationService {
+
+    /** Must match {@code TokenGenerationService.GENERATION_CHANNEL}. */
+    static final String GENERATION_CHANNEL = "generation:events";
+
+    /** Must match {@code TokenGenerationService.USER_ENTRY}. */
+    static final String USER_ENTRY = "user";
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveTokenGenerationService.class);
+    private static final String USER_PREFIX = "gen:user:";
+    private static final String ROLE_PREFIX = "gen:role:";
+
+    private static final RedisScript<Long> BUMP = new DefaultRedisScript<>("""
+            local next = math.max(tonumber(redis.call('GET', KEYS[1]) or '0') + 1, tonumber(ARGV[1]))
+            redis.call('SET', KEYS[1], next, 'PX', ARGV[2])
+            return next""", Long.class);
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final ReactiveRedisConnectionFactory connectionFactory;
+    private final boolean enabled;
+    private final long keyTtlMs;
+    private final long localTtlMs;
+    private final Duration resubscribeInterval;
+    private final ExpiringLruCache<String, Long> cache;
+    private final Disposable.Composite subscriptions = Disposables.composite();
+
+    public ReactiveTokenGenerationService(ReactiveStringRedisTemplate redisTemplate,
+                                          ReactiveRedisConnectionFactory connectionFactory,
+                                          @Value("${tokens.generation.enabled:true}") boolean enabled,
+                                          @Value("${jwt.expiration}") long keyTtlMs,
+                                          @Value("${tokens.generation.local-ttl-ms:5000}") long localTtlMs,
+                                          @Value("${tokens.generation.local-cache-size:100000}") int localCacheSize,
+                                          @Value("${redis.pubsub.resubscribe-interval-ms:60000}") long resubscribeIntervalMs) {
+        this.redisTemplate = redisTemplate;
+        this.connectionFactory = connectionFactory;
+        this.enabled = enabled;
+        this.keyTtlMs = keyTtlMs;
+        this.localTtlMs = localTtlMs;
+        this.resubscribeInterval = Duration.ofMillis(resubscribeIntervalMs);
+        this.cache = new ExpiringLruCache<>(localCacheSize);
+    }
+
+    /**
+     * Returns the generations to embed in a new token.
+     *
+     * @param username    the token subject
+     * @param authorities the authorities embedded in the token
+     * @return the non-zero generations, keyed by user entry or authority; empty if Redis is unavailable
+     */
+    public Mono<Map<String, Long>> current(String username, Collection<? extends GrantedAuthority> authorities) {
+        if (!enabled) {
+            return Mono.just(Map.of());
+        }
+        Map<String, String> entries = entries(username, authorities);
+        return resolve(entries.keySet())
+                .map(resolved -> {
+                    Map<String, Long> generations = new HashMap<>();
+                    entries.forEach((key, entry) -> {
+                        long generation = resolved.get(key);
+                        if (generation > 0) {
+                            generations.put(entry, generation);
+                        }
+                    });
+                    return generations;
+                })
+                .onErrorResume(e -> {
+                    // A token without generations is older than any bump, so this only errs towards revoking it.
+                    log.warn("Failed to read token generations, issuing token without them: {}", e.getMessage());
+                    return Mono.just(Map.of());
+                });
+    }
+
+    /**
+     * Checks that no generation of the token's user or roles has moved past the one it carries.
+     *
+     * @param token the verified token
+     * @return true if the token is still current, or an error with {@link RedisConnectionFailureException}
+     *         if a generation is not cached and Redis cannot be read
+     */
+    public Mono<Boolean> isCurrent(VerifiedToken token) {
+        if (!enabled) {
+            return Mono.just(true);
+        }
+        Map<String, String> entries = entries(token.username(),
+                token.authorities() == null ? List.of() : token.authorities());
+        Map<String, Long> carried = token.generations();
+        return resolve(entries.keySet())
+                .map(resolved -> entries.entrySet().stream()
+                        .noneMatch(entry -> resolved.get(entry.getKey()) > carried.getOrDefault(entry.getValue(), 0L)));
+    }
+
+    /**
+     * Revokes every token issued to a user so far.
+     *
+     * @param username the username
+     * @return completion of the bump
+     */
+    public Mono<Void> revokeUser(String username) {
+        if (!enabled) {
+            return Mono.empty();
+        }
+        String key = USER_PREFIX + username;
+        return redisTemplate.execute(BUMP, List.of(key),
+                        List.of(Long.toString(System.currentTimeMillis()), Long.toString(keyTtlMs)))
+                .next()
+                .switchIfEmpty(Mono.error(() -> new IllegalStateException("Failed to bump token generation " + key)))
+                .flatMap(generation -> {
+                    cacheMax(key, generation);
+                    log.info("Bumped token generation {} to {}", key, generation);
+                    return redisTemplate.convertAndSend(GENERATION_CHANNEL, generation + "|" + key);
+                })
+                .then();
+    }
+
+    /**
+     * Subscribes to generation bumps. Until the subscription is active, and whenever a
+     * message is lost, the local TTL bounds how long a stale generation is used.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        subscriptions.add(Flux.using(() -> new ReactiveRedisMessageListenerContainer(connectionFactory),
+                        container -> container.receive(ChannelTopic.of(GENERATION_CHANNEL)),
+                        ReactiveRedisMessageListenerContainer::destroy)
+                .doOnNext(message -> onMessage(message.getMessage()))
+                .doOnError(e -> log.warn("Generation subscription unavailable: {}", e.getMessage()))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(resubscribeInterval))
+                .subscribe());
+    }
+
+    @PreDestroy
+    void stop() {
+        subscriptions.dispose();
+    }
+
+    private void onMessage(String payload) {
+        int separator = payload.indexOf('|');
+        try {
+            cacheMax(payload.substring(separator + 1), Long.parseLong(payload.substring(0, separator)));
+        } catch (RuntimeException e) {
+            log.warn("Ignoring malformed generation event");
+        }
+    }
+
+    /**
+     * Resolves generations from the local cache, reading the rest from Redis in one round trip.
+     */
+    private Mono<Map<String, Long>> resolve(Collection<String> keys) {
+        long now = System.currentTimeMillis();
+        Map<String, Long> resolved = new HashMap<>();
+        List<String> missing = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            Long cached = cache.get(key, now);
+            if (cached != null) {
+                resolved.put(key, cached);
+            } else {
+                missing.add(key);
+            }
+        }
+        if (missing.isEmpty()) {
+            return Mono.just(resolved);
+        }
+        return redisTemplate.opsForValue().multiGet(missing)
+                .map(values -> {
+                    for (int i = 0; i < missing.size(); i++) {
+                        String value = values.get(i);
+                        long generation = value == null ? 0 : Long.parseLong(value);
+                        cache.put(missing.get(i), generation, now + localTtlMs);
+                        resolved.put(missing.get(i), generation);
+                    }
+                    return resolved;
+                })
+                .onErrorMap(DataAccessException.class,
+                        e -> new RedisConnectionFailureException("Token generations unavailable", e));
+    }
+
+    private void cacheMax(String key, long generation) {
+        long now = System.currentTimeMillis();
+        Long cached = cache.get(key, now);
+        if (cached == null || cached < generation) {
+            cache.put(key, generation, now + localTtlMs);
+        }
+    }
+
+    /**
+     * Maps each Redis key that applies to a token to its entry in the {@code gen} claim.
+     */
+    private static Map<String, String> entries(String username, Collection<? extends GrantedAuthority> authorities) {
+        Map<String, String> entries = new HashMap<>();
+        entries.put(USER_PREFIX + username, USER_ENTRY);
+        for (GrantedAuthority authority : authorities) {
+            entries.put(ROLE_PREFIX + authority.getAuthority(), authority.getAuthority());
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,264 @@
+package com.secureauth.reactive;
+
+import com.secureauth.entity.enums.RoleType;
+import com.secureauth.exception.CustomException;
+import com.secureauth.exception.ErrorCode;
+import com.secureauth.security.BCryptCostCalibrator;
+import io.r2dbc.postgresql.api.PostgresqlException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Reactive counterpart of {@code UserService}, working on the same tables through R2DBC.
+ *
+ * <p>BCrypt runs on a dedicated bounded scheduler so it never blocks an event-loop thread;
+ * when its queue is full, requests fail fast with {@link ErrorCode#SERVICE_UNAVAILABLE}.</p>
+ */
+@Service
+public class ReactiveUserService implements ReactiveUserDetailsService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveUserService.class);
+    private static final String USERNAME_CONSTRAINT = "users_username_key";
+    private static final String SELECT_ACCOUNT = """
+            select u.id, u.username, u.password, u.security_version, r.name as role
+            from users u
+            left join user_roles ur on ur.user_id = u.id
+            left join roles r on r.id = ur.role_id
+            where u.username = :username""";
+
+    private final DatabaseClient databaseClient;
+    private final TransactionalOperator transactionalOperator;
+    private final PasswordEncoder passwordEncoder;
+    private final ReactiveSecurityVersionService securityVersionService;
+    private final ReactiveTokenGenerationService tokenGenerationService;
+    private final int strength;
+    private final Duration maxWait;
+    private final Scheduler hashingScheduler;
+
+    public ReactiveUserService(DatabaseClient databaseClient,
+                               TransactionalOperator transactionalOperator,
+                               PasswordEncoder passwordEncoder,
+                               ReactiveSecurityVersionService securityVersionService,
+                               ReactiveTokenGenerationService tokenGenerationService,
+                               BCryptCostCalibrator costCalibrator,
+                               @Value("${security.password.hashing.threads:0}") int threads,
+                               @Value("${security.password.hashing.queue-capacity:64}") int queueCapacity,
+                               @Value("${security.password.hashing.max-wait-ms:2000}") long maxWaitMillis) {
+        this.databaseClient = databaseClient;
+        this.transactionalOperator = transactionalOperator;
+        this.passwordEncoder = passwordEncoder;
+        this.securityVersionService = securityVersionService;
+        this.tokenGenerationService = tokenGenerationService;
+        this.strength = costCalibrator.getStrength();
+        this.maxWait = Duration.ofMillis(maxWaitMillis);
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.hashingScheduler = Schedulers.newBoundedElastic(poolSize, queueCapacity, "password-hashing");
+    }
+
+    /**
+     * Loads user details by username for authentication.
+     *
+     * @param username the username
+     * @return the UserDetails, or an error with {@link UsernameNotFoundException} if the user is not found
+     */
+    @Override
+    public Mono<UserDetails> findByUsername(String username) {
+        return findAccount(username)
+                .map(UserAccount::toUserDetails)
+                .switchIfEmpty(Mono.error(() -> new UsernameNotFoundException("User not found: " + username)));
+    }
+
+    /**
+     * Registers a new user with the given details.
+     *
+     * @param username the username
+     * @param password the password
+     * @return the registered user, or an error with a {@link CustomException} if the username already exists
+     */
+    public Mono<UserAccount> signup(String username, String password) {
+        log.info("Registering new user: {}", username);
+        Mono<UserAccount> insert = databaseClient.sql("select exists(select 1 from users where username = :username)")
+                .bind("username", username)
+                .map(row -> row.get(0, Boolean.class))
+                .one()
+                .flatMap(exists -> exists
+                        ? Mono.error(alreadyExists())
+                        : hash(() -> passwordEncoder.encode(password)))
+                .flatMap(encoded -> databaseClient
+                        // Each nextval reserves a whole pooled block for its caller, so using its top value
+                        // cannot collide with IDs handed out by Hibernate or the bulk import.
+                        .sql("insert into users (id, username, password, security_version) "
+                                + "values (nextval('users_seq'), :username, :password, 0) returning id")
+                        .bind("username", username)
+                        .bind("password", encoded)
+                        .map(row -> row.get("id", Long.class))
+                        .one()
+                        .flatMap(id -> findOrCreateRole(RoleType.USER)
+                                .flatMap(roleId -> databaseClient
+                                        .sql("insert into user_roles (user_id, role_id) values (:userId, :roleId)")
+                                        .bind("userId", id)
+                                        .bind("roleId", roleId)
+                                        .then())
+                                .thenReturn(new UserAccount(id, username, encoded, 0,
+                                        List.of(authority(RoleType.USER.name()))))));
+        return transactionalOperator.transactional(insert)
+                .onErrorMap(DataIntegrityViolationException.class,
+                        e -> violates(e, USERNAME_CONSTRAINT) ? alreadyExists() : e);
+    }
+
+    /**
+     * Authenticates a user with the given credentials.
+     * A password hashed with a lower BCrypt cost than the configured one is re-hashed.
+     *
+     * @param username the username
+     * @param password the password
+     * @return the authenticated user, or an error with a {@link CustomException} if credentials are invalid
+     */
+    public Mono<UserAccount> signIn(String username, String password) {
+        log.debug("Authenticating user: {}", username);
+        return findAccount(username)
+                .switchIfEmpty(Mono.error(this::invalidCredentials))
+                .flatMap(account -> hash(() -> passwordEncoder.matches(password, account.password()))
+                        .flatMap(matches -> matches ? Mono.just(account) : Mono.error(invalidCredentials())))
+                .flatMap(account -> BCryptCostCalibrator.costOf(account.password()) >= strength
+                        ? Mono.just(account)
+                        : rehash(account, password));
+    }
+
+    /**
+     * Changes a user's password and invalidates all tokens issued before the change.
+     *
+     * @param username        the username
+     * @param currentPassword the current password
+     * @param newPassword     the new password
+     * @return the updated user, or an error with a {@link CustomException} if the current password is wrong
+     */
+    public Mono<UserAccount> changePassword(String username, String currentPassword, String newPassword) {
+        log.info("Changing password for user: {}", username);
+        return findAccount(username)
+                .switchIfEmpty(Mono.error(() -> new CustomException("User not found", ErrorCode.NO_USERS_FOUND.getCode())))
+                .flatMap(account -> hash(() -> passwordEncoder.matches(currentPassword, account.password()))
+                        .flatMap(matches -> matches
+                                ? hash(() -> passwordEncoder.encode(newPassword))
+                                : Mono.error(new CustomException("Current password is incorrect",
+                                        ErrorCode.PASSWORD_INVALID.getCode())))
+                        .flatMap(encoded -> databaseClient
+                                .sql("update users set password = :password, security_version = security_version + 1, version = version + 1 "
+                                        + "where id = :id returning security_version")
+                                .bind("password", encoded)
+                                .bind("id", account.id())
+                                .map(row -> row.get("security_version", Long.class))
+                                .one()
+                                .map(version -> account.withPassword(encoded, version))))
+                .flatMap(updated -> securityVersionService.publish(updated.username(), updated.securityVersion())
+                        .then(tokenGenerationService.revokeUser(updated.username()))
+                        .thenReturn(updated));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        hashingScheduler.dispose();
+    }
+
+    private Mono<UserAccount> findAccount(String username) {
+        return databaseClient.sql(SELECT_ACCOUNT)
+                .bind("username", username)
+                // Rows are only readable inside the mapping function, so copy them out first.
+                .map(row -> new AccountRow(row.get("id", Long.class), row.get("username", String.class),
+                        row.get("password", String.class), row.get("security_version", Long.class),
+                        row.get("role", String.class)))
+                .all()
+                .collectList()
+                .flatMap(rows -> rows.isEmpty() ? Mono.empty() : Mono.just(toAccount(rows)));
+    }
+
+    private static UserAccount toAccount(List<AccountRow> rows) {
+        AccountRow first = rows.get(0);
+        List<GrantedAuthority> authorities = new ArrayList<>(rows.size());
+        for (AccountRow row : rows) {
+            if (row.role() != null) {
+                authorities.add(authority(row.role()));
+            }
+        }
+        return new UserAccount(first.id(), first.username(), first.password(), first.securityVersion(), authorities);
+    }
+
+    private Mono<UserAccount> rehash(UserAccount account, String password) {
+        return hash(() -> passwordEncoder.encode(password))
+                .flatMap(encoded -> databaseClient.sql("update users set password = :password, version = version + 1 where id = :id")
+                        .bind("password", encoded)
+                        .bind("id", account.id())
+                        .then()
+                        .doOnSuccess(ignored -> log.info("Re-hashed password for user: {}", account.username())))
+                // The sign-in already succeeded; try again on the next one.
+                .onErrorResume(e -> Mono.empty())
+                .thenReturn(account);
+    }
+
+    private Mono<Long> findOrCreateRole(RoleType roleType) {
+        return databaseClient.sql("insert into roles (id, name) values (nextval('roles_seq'), :name) on conflict (name) do nothing")
+                .bind("name", roleType.name())
+                .then()
+                .then(databaseClient.sql("select id from roles where name = :name")
+                        .bind("name", roleType.name())
+                        .map(row -> row.get("id", Long.class))
+                        .one());
+    }
+
+    private <T> Mono<T> hash(Callable<T> task) {
+        return Mono.fromCallable(task)
+                .subscribeOn(hashingScheduler)
+                .timeout(maxWait)
+                .onErrorMap(e -> e instanceof RejectedExecutionException || e instanceof TimeoutException,
+                        e -> new CustomException("Too many concurrent authentication requests, please retry shortly",
+                                ErrorCode.SERVICE_UNAVAILABLE.getCode()));
+    }
+
+    private static GrantedAuthority authority(String roleName) {
+        return new SimpleGrantedAuthority("ROLE_" + roleName);
+    }
+
+    private CustomException invalidCredentials() {
+        return new CustomException("Invalid username or password", ErrorCode.INVALID_EMAIL_OR_PASSWORD.getCode());
+    }
+
+    private static boolean violates(DataIntegrityViolationException e, String constraintName) {
+        for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof PostgresqlException postgres) {
+                return postgres.getErrorDetails().getConstraintName()
+                        .map(constraintName::equalsIgnoreCase)
+                        .orElse(false);
+            }
+        }
+        return false;
+    }
+
+    private static CustomException alreadyExists() {
+        return new CustomException("Username already exists", ErrorCode.ALREADY_EXIST.getCode());
+    }
+
+    private record AccountRow(Long id, String username, String password, long securityVersion, String role) {
+    }
+}
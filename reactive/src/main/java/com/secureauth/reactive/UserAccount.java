@@ -0,0 +1,33 @@
+package com.secureauth.reactive;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+
+/**
+ * A row of the {@code users} table together with the user's roles.
+ *
+ * @param id              the user ID
+ * @param username        the username
+ * @param password        the password hash
+ * @param securityVersion the security version, see {@code User.securityVersion}
+ * @param authorities     the user's roles as authorities
+ */
+public record UserAccount(Long id, String username, String password, long securityVersion,
+                          List<GrantedAuthority> authorities) {
+
+    /**
+     * Converts the account into Spring Security user details.
+     *
+     * @return the user details
+     */
+    public UserDetails toUserDetails() {
+        return new User(username, password, authorities);
+    }
+
+    UserAccount withPassword(String newPassword, long newSecurityVersion) {
+        return new UserAccount(id, username, newPassword, newSecurityVersion, authorities);
+    }
+}
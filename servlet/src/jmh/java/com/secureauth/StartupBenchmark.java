@@ -0,0 +1,141 @@
+package com.secureauth;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time from launching the application to its first successful sign-in,
+ * which is how long a new node takes to add capacity.
+ *
+ * <p>Each iteration starts the build in {@code target} as a new process and polls
+ * {@code /v1/auth/signIn} until it answers 200. The {@code jar} mode runs the plain jar,
+ * {@code aot-cds} the output of {@code -Paot-cds} and {@code native} the output of
+ * {@code -Pnative native:compile}; build them first. Postgres has to be running as
+ * configured in {@code application.yml}; Redis is optional, since sign-in works without
+ * it. Rate limiting is disabled so repeated sign-ins are not rejected.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 5)
+@Fork(1)
+public class StartupBenchmark {
+
+    private static final String CREDENTIALS = "{\"username\":\"startup-benchmark\",\"password\":\"Password123\"}";
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(10);
+    private static final Duration START_TIMEOUT = Duration.ofMinutes(2);
+
+    @Param({"jar", "aot-cds"})
+    public String mode;
+
+    @Param({"18080"})
+    public int port;
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+    private Process process;
+
+    @Benchmark
+    public int timeToFirstSignIn() throws Exception {
+        long deadline = System.nanoTime() + START_TIMEOUT.toNanos();
+        process = start();
+        // The user may exist from an earlier iteration; any answer means the server is up.
+        while (post("/v1/auth/signUp") < 0) {
+            await(deadline);
+        }
+        int status;
+        while ((status = post("/v1/auth/signIn")) != 200) {
+            await(deadline);
+        }
+        return status;
+    }
+
+    @TearDown(Level.Iteration)
+    public void stop() throws InterruptedException {
+        if (process == null) {
+            return;
+        }
+        process.destroy();
+        if (!process.waitFor(30, TimeUnit.SECONDS)) {
+            process.destroyForcibly().waitFor();
+        }
+        process = null;
+    }
+
+    private Process start() throws IOException {
+        File target = new File(System.getProperty("startup.target", "target"));
+        List<String> command = new ArrayList<>();
+        File directory = target;
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        switch (mode) {
+            case "jar" -> command.addAll(List.of(java, "-jar", "secure-auth-0.0.1-SNAPSHOT.jar"));
+            case "aot-cds" -> {
+                directory = new File(target, "app");
+                command.addAll(List.of(java, "-XX:SharedArchiveFile=application.jsa", "-Dspring.aot.enabled=true",
+                        "-jar", "secure-auth-0.0.1-SNAPSHOT.jar"));
+            }
+            case "native" -> command.add(new File(target, "secure-auth").getAbsolutePath());
+            default -> throw new IllegalArgumentException("Unknown mode " + mode);
+        }
+        command.add("--server.port=" + port);
+        command.add("--rate-limit.enabled=false");
+        return new ProcessBuilder(command)
+                .directory(directory)
+                .redirectErrorStream(true)
+                .redirectOutput(new File(target, "startup-" + mode + ".log"))
+                .start();
+    }
+
+    /**
+     * Posts the benchmark credentials.
+     *
+     * @return the status, or -1 if the server is not accepting connections yet
+     */
+    private int post(String path) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(5))
+                .POST(HttpRequest.BodyPublishers.ofString(CREDENTIALS))
+                .build();
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (ConnectException | HttpTimeoutException e) {
+            return -1;
+        }
+    }
+
+    private void await(long deadline) throws InterruptedException {
+        if (!process.isAlive()) {
+            throw new IllegalStateException("Application exited with " + process.exitValue() + ", see target/startup-"
+                    + mode + ".log");
+        }
+        if (System.nanoTime() > deadline) {
+            throw new IllegalStateException("Application did not sign in within " + START_TIMEOUT);
+        }
+        Thread.sleep(POLL_INTERVAL);
+    }
+}
@@ -0,0 +1,156 @@
+package com.secureauth.config;
+
+import com.secureauth.cache.TrackingRedisCache;
+import com.secureauth.metrics.AuthMetrics;
+import com.secureauth.security.JwtAuthFilter;
+import com.secureauth.security.JwtTokenProvider;
+import com.secureauth.security.SigningKeyProperties;
+import com.secureauth.security.SigningKeyRegistry;
+import com.secureauth.security.VerifiedTokenCache;
+import com.secureauth.service.InMemoryRedisTemplate;
+import com.secureauth.service.SecurityVersionService;
+import com.secureauth.service.TokenBlacklistService;
+import com.secureauth.service.TokenGenerationService;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Compares platform-thread and virtual-thread request handling at high concurrency.
+ *
+ * <p>Each operation pushes a burst of authenticated requests through {@link JwtAuthFilter}.
+ * Every request makes a blocking Redis call (near-cache disabled) and a blocking user lookup
+ * that has to get one of {@link #DB_POOL_SIZE} connections, as with the default Hikari pool.
+ * The platform mode uses a fixed pool of {@link #PLATFORM_THREADS} threads like Tomcat's
+ * default; the virtual mode uses a thread per request.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class ThreadingModeBenchmark {
+
+    private static final int PLATFORM_THREADS = 200;
+    private static final int DB_POOL_SIZE = 10;
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    @Param({"platform", "virtual"})
+    public String threading;
+
+    @Param({"2000"})
+    public int concurrentRequests;
+
+    @Param({"1"})
+    public int redisLatencyMillis;
+
+    @Param({"0", "2"})
+    public int dbLatencyMillis;
+
+    private ExecutorService executor;
+    private JwtAuthFilter filter;
+    private String authorization;
+
+    @Setup
+    public void setUp() {
+        executor = threading.equals("virtual")
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(PLATFORM_THREADS);
+
+        List<SimpleGrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+        JwtTokenProvider provider = new JwtTokenProvider(3_600_000,
+                new SigningKeyRegistry("mySecretKeyWhichShouldBeAtLeast32CharactersLong!", new SigningKeyProperties()),
+                new VerifiedTokenCache(true, 10_000));
+        authorization = "Bearer " + provider.generateToken("alice", authorities, 0);
+
+        UserDetails user = new User("alice", "", authorities);
+        Semaphore connections = new Semaphore(DB_POOL_SIZE, true);
+        Duration dbLatency = Duration.ofMillis(dbLatencyMillis);
+        UserDetailsService userDetailsService = username -> {
+            connections.acquireUninterruptibly();
+            try {
+                Thread.sleep(dbLatency);
+                return user;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            } finally {
+                connections.release();
+            }
+        };
+
+        AuthMetrics metrics = new AuthMetrics(new SimpleMeterRegistry());
+        TokenBlacklistService blacklistService = new TokenBlacklistService(
+                new InMemoryRedisTemplate(Duration.ofMillis(redisLatencyMillis)),
+                new StaticListableBeanFactory().getBeanProvider(RedisMessageListenerContainer.class),
+                new StaticListableBeanFactory().getBeanProvider(TrackingRedisCache.class), metrics,
+                CircuitBreaker.ofDefaults("redis"), TokenBlacklistService.DegradedMode.LOCAL,
+                false, 0, 0.01, 0, 0, 0);
+        SecurityVersionService securityVersionService = new SecurityVersionService(null, null, null);
+        // Generations are disabled: with them cached they add no Redis call, only a local lookup.
+        TokenGenerationService tokenGenerationService = new TokenGenerationService(null,
+                new StaticListableBeanFactory().getBeanProvider(RedisMessageListenerContainer.class),
+                CircuitBreaker.ofDefaults("redis"), false, 0, 0, 1, 1);
+        filter = new JwtAuthFilter(provider, userDetailsService, blacklistService, securityVersionService,
+                tokenGenerationService, metrics, false);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public int burst() throws Exception {
+        AtomicInteger authenticated = new AtomicInteger();
+        Future<?>[] futures = new Future<?>[concurrentRequests];
+        for (int i = 0; i < concurrentRequests; i++) {
+            futures[i] = executor.submit(() -> {
+                MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/users/me");
+                request.addHeader("Authorization", authorization);
+                SecurityContextHolder.clearContext();
+                filter.doFilter(request, new MockHttpServletResponse(), NO_OP_CHAIN);
+                if (SecurityContextHolder.getContext().getAuthentication() != null) {
+                    authenticated.incrementAndGet();
+                }
+                SecurityContextHolder.clearContext();
+                return null;
+            });
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        return authenticated.get();
+    }
+}
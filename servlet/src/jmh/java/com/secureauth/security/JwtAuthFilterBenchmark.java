@@ -0,0 +1,105 @@
+package com.secureauth.security;
+
+import com.secureauth.cache.TrackingRedisCache;
+import com.secureauth.metrics.AuthMetrics;
+import com.secureauth.service.InMemoryRedisTemplate;
+import com.secureauth.service.SecurityVersionService;
+import com.secureauth.service.TokenBlacklistService;
+import com.secureauth.service.TokenGenerationService;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Measures the full per-request path of {@link JwtAuthFilter} for an authenticated request,
+ * in both principal modes. Redis and the user lookup are replaced by in-memory stand-ins.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthFilterBenchmark {
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    @Param({"false", "true"})
+    public boolean statelessPrincipal;
+
+    @Param({"true", "false"})
+    public boolean verifiedCache;
+
+    private JwtAuthFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        JwtTokenProvider provider = JwtTokenProviderBenchmark.provider(verifiedCache);
+        UserDetails user = new User("alice", "", JwtTokenProviderBenchmark.AUTHORITIES);
+        UserDetailsService userDetailsService = username -> user;
+
+        AuthMetrics metrics = new AuthMetrics(new SimpleMeterRegistry());
+        RedisMessageListenerContainer container = mock(RedisMessageListenerContainer.class);
+        when(container.isListening()).thenReturn(true);
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("revocationListenerContainer", container);
+        TokenBlacklistService blacklistService = new TokenBlacklistService(new InMemoryRedisTemplate(),
+                beanFactory.getBeanProvider(RedisMessageListenerContainer.class),
+                new StaticListableBeanFactory().getBeanProvider(TrackingRedisCache.class), metrics,
+                CircuitBreaker.ofDefaults("redis"), TokenBlacklistService.DegradedMode.LOCAL,
+                true, 200_000, 0.001, 10_000, 200_000, 0);
+        blacklistService.resyncNearCache();
+
+        SecurityVersionService securityVersionService = new SecurityVersionService(null, null, null) {
+            @Override
+            public boolean isCurrent(String username, long version) {
+                return true;
+            }
+        };
+
+        // Generations are disabled: with them cached they add no Redis call, only a local lookup.
+        TokenGenerationService tokenGenerationService = new TokenGenerationService(null,
+                new StaticListableBeanFactory().getBeanProvider(RedisMessageListenerContainer.class),
+                CircuitBreaker.ofDefaults("redis"), false, 0, 0, 1, 1);
+        filter = new JwtAuthFilter(provider, userDetailsService, blacklistService, securityVersionService,
+                tokenGenerationService, metrics, statelessPrincipal);
+        request = new MockHttpServletRequest("GET", "/v1/users/me");
+        request.addHeader("Authorization", "Bearer " + provider.generateToken("alice", user.getAuthorities(), 0));
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public Object authenticatedRequest() throws ServletException, IOException {
+        SecurityContextHolder.clearContext();
+        filter.doFilter(request, response, NO_OP_CHAIN);
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
@@ -0,0 +1,69 @@
+package com.secureauth.security;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures token issuing and verification, with and without the verified-token cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtTokenProviderBenchmark {
+
+    static final String SECRET = "mySecretKeyWhichShouldBeAtLeast32CharactersLong!";
+    static final List<GrantedAuthority> AUTHORITIES = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+
+    @Param({"true", "false"})
+    public boolean verifiedCache;
+
+    private JwtTokenProvider provider;
+    private UserDetails userDetails;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        provider = provider(verifiedCache);
+        userDetails = new User("alice", "", AUTHORITIES);
+        token = provider.generateToken("alice", AUTHORITIES, 0);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return provider.generateToken("alice", AUTHORITIES, 0);
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return provider.extractUsername(token);
+    }
+
+    @Benchmark
+    public boolean verifyAndValidate() {
+        return provider.isValid(provider.verify(token), userDetails);
+    }
+
+    static JwtTokenProvider provider(boolean verifiedCache) {
+        return new JwtTokenProvider(3_600_000, new SigningKeyRegistry(SECRET, new SigningKeyProperties()),
+                new VerifiedTokenCache(verifiedCache, 10_000));
+    }
+}
@@ -0,0 +1,72 @@
+package com.secureauth.service;
+
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanCursor;
+import org.springframework.data.redis.core.ScanIteration;
+import org.springframework.data.redis.core.ScanOptions;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory stand-in for the operations the blacklist lookup path uses.
+ *
+ * <p>Only {@link #hasKey(String)} and an empty {@link #scan(ScanOptions)} are supported, so
+ * benchmarks measure the service's own overhead without a network round trip unless a
+ * simulated latency is given. Revocations reach the near-cache through
+ * {@link TokenBlacklistService#onMessage} instead of a scan.</p>
+ */
+public class InMemoryRedisTemplate extends RedisTemplate<String, String> {
+
+    private final Map<String, Long> expiries = new ConcurrentHashMap<>();
+    private final Duration latency;
+
+    public InMemoryRedisTemplate() {
+        this(Duration.ZERO);
+    }
+
+    /**
+     * Creates a stand-in whose lookups block for the given time, like a network round trip.
+     *
+     * @param latency the simulated round-trip time
+     */
+    public InMemoryRedisTemplate(Duration latency) {
+        this.latency = latency;
+    }
+
+    /**
+     * Stores a key until the given expiry time.
+     *
+     * @param key       the key
+     * @param expiresAt the epoch millis at which the key expires
+     */
+    public void put(String key, long expiresAt) {
+        expiries.put(key, expiresAt);
+    }
+
+    @Override
+    public Boolean hasKey(String key) {
+        if (!latency.isZero()) {
+            try {
+                Thread.sleep(latency);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        Long expiresAt = expiries.get(key);
+        return expiresAt != null && expiresAt > System.currentTimeMillis();
+    }
+
+    @Override
+    public Cursor<String> scan(ScanOptions options) {
+        return new ScanCursor<String>(options) {
+            @Override
+            protected ScanIteration<String> doScan(CursorId cursorId, ScanOptions options) {
+                return new ScanIteration<>(CursorId.initial(), List.of());
+            }
+        }.open();
+    }
+}
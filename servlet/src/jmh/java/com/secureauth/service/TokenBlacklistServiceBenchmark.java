@@ -0,0 +1,103 @@
+package com.secureauth.service;
+
+import com.secureauth.cache.TrackingRedisCache;
+import com.secureauth.metrics.AuthMetrics;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Measures {@link TokenBlacklistService#isTokenBlacklisted(String)} with and without the
+ * revocation near-cache, for revoked and live tokens.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class TokenBlacklistServiceBenchmark {
+
+    private static final int REVOKED_TOKENS = 10_000;
+    private static final int REVOCATION_CAPACITY = 200_000;
+
+    @Param({"true", "false"})
+    public boolean nearCache;
+
+    private TokenBlacklistService service;
+    private String[] revoked;
+    private String[] live;
+
+    @Setup
+    public void setUp() {
+        InMemoryRedisTemplate redisTemplate = new InMemoryRedisTemplate();
+        AuthMetrics metrics = new AuthMetrics(new SimpleMeterRegistry());
+        RedisMessageListenerContainer container = mock(RedisMessageListenerContainer.class);
+        when(container.isListening()).thenReturn(true);
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("revocationListenerContainer", container);
+        service = new TokenBlacklistService(redisTemplate,
+                beanFactory.getBeanProvider(RedisMessageListenerContainer.class),
+                new StaticListableBeanFactory().getBeanProvider(TrackingRedisCache.class), metrics,
+                CircuitBreaker.ofDefaults("redis"), TokenBlacklistService.DegradedMode.LOCAL,
+                nearCache, REVOCATION_CAPACITY, 0.001, 10_000, REVOCATION_CAPACITY, 0);
+        service.resyncNearCache();
+
+        long expiresAt = System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1);
+        revoked = new String[REVOKED_TOKENS];
+        live = new String[REVOKED_TOKENS];
+        for (int i = 0; i < REVOKED_TOKENS; i++) {
+            revoked[i] = UUID.randomUUID().toString();
+            live[i] = UUID.randomUUID().toString();
+            String key = "blacklisted:" + revoked[i];
+            redisTemplate.put(key, expiresAt);
+            service.onMessage(new DefaultMessage(TokenBlacklistService.REVOCATION_CHANNEL.getBytes(StandardCharsets.UTF_8),
+                    (expiresAt + "|" + key).getBytes(StandardCharsets.UTF_8)), null);
+        }
+    }
+
+    @Benchmark
+    public boolean liveToken(Cursor cursor) {
+        return service.isTokenBlacklisted(live[cursor.next()]);
+    }
+
+    @Benchmark
+    public boolean revokedToken(Cursor cursor) {
+        return service.isTokenBlacklisted(revoked[cursor.next()]);
+    }
+
+    /**
+     * Walks the token arrays so each lookup hits a different key.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int index;
+
+        int next() {
+            index = (index + 1) % REVOKED_TOKENS;
+            return index;
+        }
+    }
+}
@@ -1,13 +1,18 @@
 package com.secureauth;
 
+import com.secureauth.config.NativeRuntimeHints;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableCaching
+@EnableScheduling
+@ImportRuntimeHints(NativeRuntimeHints.class)
 public class Application {
 
 	private static final Logger log = LoggerFactory.getLogger(Application.class);
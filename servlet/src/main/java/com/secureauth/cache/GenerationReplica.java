@@ -0,0 +1,140 @@
+package com.secureauth.cache;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-node copy of every bumped token generation, for checking tokens while Redis is unavailable.
+ *
+ * <p>Unlike the short-lived local cache of generations, entries are kept until the
+ * generation key expires in Redis. The copy is kept current the same way as
+ * {@link RevocationNearCache}: bumps are recorded as they are published, and the whole
+ * copy is periodically rebuilt from the keys in Redis. A key missing from a built copy
+ * has not been bumped, so only a built copy answers. It holds at most {@code capacity}
+ * keys and stops answering when there are more, since a missing key would then be
+ * mistaken for one that was never bumped.</p>
+ */
+public class GenerationReplica {
+
+    private final int capacity;
+
+    private volatile Map<String, Entry> current = new ConcurrentHashMap<>();
+    private Map<String, Entry> rebuilding;
+    private volatile boolean built;
+
+    /**
+     * @param capacity the maximum number of generation keys held
+     */
+    public GenerationReplica(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Returns a generation as last replicated, even if Redis has since become unreachable.
+     *
+     * @param key the generation key
+     * @param now the current epoch millis
+     * @return the generation, 0 if it was never bumped, or null if the copy cannot tell
+     */
+    public Long lookup(String key, long now) {
+        if (!built) {
+            return null;
+        }
+        Entry entry = current.get(key);
+        return entry == null || entry.expiresAt <= now ? 0L : entry.generation;
+    }
+
+    /**
+     * Records a bump, either made locally or received from another node.
+     *
+     * @param key        the generation key
+     * @param generation the new generation
+     * @param expiresAt  the epoch millis at which the key expires in Redis
+     */
+    public synchronized void bumped(String key, long generation, long expiresAt) {
+        if (!add(current, key, generation, expiresAt)) {
+            built = false;
+        }
+        if (rebuilding != null && !add(rebuilding, key, generation, expiresAt)) {
+            rebuilding = null;
+        }
+    }
+
+    /**
+     * Starts a rebuild. Bumps seen until {@link #completeRebuild()} go to both the live
+     * and the new copy, so nothing published during the rebuild is lost.
+     */
+    public synchronized void beginRebuild() {
+        rebuilding = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Adds an existing generation to the copy being rebuilt.
+     *
+     * @param key        the generation key
+     * @param generation the generation
+     * @param expiresAt  the epoch millis at which the key expires in Redis
+     * @return false if the copy is full; the rebuild is then abandoned
+     */
+    public synchronized boolean addToRebuild(String key, long generation, long expiresAt) {
+        if (rebuilding != null && !add(rebuilding, key, generation, expiresAt)) {
+            rebuilding = null;
+        }
+        return rebuilding != null;
+    }
+
+    /**
+     * Swaps in the rebuilt copy and starts answering lookups.
+     *
+     * @return false if the rebuild was abandoned because the copy was full
+     */
+    public synchronized boolean completeRebuild() {
+        if (rebuilding == null) {
+            built = false;
+            return false;
+        }
+        current = rebuilding;
+        rebuilding = null;
+        built = true;
+        return true;
+    }
+
+    /**
+     * Abandons a rebuild, keeping the live copy.
+     */
+    public synchronized void abortRebuild() {
+        rebuilding = null;
+    }
+
+    /**
+     * Removes generations whose keys have expired in Redis.
+     *
+     * @param now the current epoch millis
+     */
+    public synchronized void purgeExpired(long now) {
+        current.values().removeIf(entry -> entry.expiresAt <= now);
+    }
+
+    /**
+     * Returns whether the copy answers lookups.
+     *
+     * @return true once a rebuild has completed and the copy has not overflowed since
+     */
+    public boolean isBuilt() {
+        return built;
+    }
+
+    private boolean add(Map<String, Entry> entries, String key, long generation, long expiresAt) {
+        Entry existing = entries.get(key);
+        if (existing == null && entries.size() >= capacity) {
+            return false;
+        }
+        if (existing == null || existing.generation < generation) {
+            entries.put(key, new Entry(generation, expiresAt));
+        }
+        return true;
+    }
+
+    private record Entry(long generation, long expiresAt) {
+    }
+}
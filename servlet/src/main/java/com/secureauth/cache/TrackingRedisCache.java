@@ -0,0 +1,187 @@
+package com.secureauth.cache;
+
+import io.lettuce.core.KeyValue;
+import io.lettuce.core.RedisChannelHandler;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisConnectionStateListener;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.TrackingArgs;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.push.PushListener;
+import io.lettuce.core.api.push.PushMessage;
+import io.lettuce.core.codec.StringCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.RedisSystemException;
+import org.springframework.data.redis.connection.lettuce.LettuceExceptionConverter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Remembers which Redis keys exist, kept coherent by RESP3 server-assisted client tracking.
+ *
+ * <p>Reads go over a dedicated RESP3 connection with {@code CLIENT TRACKING on}, so Redis
+ * remembers the keys this node has read and pushes an {@code invalidate} message on that
+ * connection as soon as one of them is written, deleted, expired or evicted. Both hits and
+ * misses are cached until invalidated; {@code maxAgeMs} only bounds how long entries for
+ * keys nobody reads any more are kept.</p>
+ *
+ * <p>Invalidations sent while the connection is down are lost, so the cache is cleared
+ * when it drops and stays inactive until {@link #connect()} opens a new tracked connection.</p>
+ */
+public class TrackingRedisCache implements PushListener, RedisConnectionStateListener, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(TrackingRedisCache.class);
+    private static final String INVALIDATE = "invalidate";
+
+    private final RedisClient client;
+    private final RedisURI uri;
+    private final long maxAgeMs;
+    private final ExpiringLruCache<String, Boolean> cache;
+    private final LettuceExceptionConverter exceptionConverter = new LettuceExceptionConverter();
+    /**
+     * Bumped before every invalidation is applied, so a read can tell whether one raced with it.
+     */
+    private final AtomicLong invalidations = new AtomicLong();
+    private volatile StatefulRedisConnection<String, String> connection;
+
+    /**
+     * @param client      a client configured for RESP3, used only by this cache
+     * @param uri         the Redis server
+     * @param maximumSize the maximum number of cached keys
+     * @param maxAgeMs    how long an entry is kept if no invalidation arrives
+     */
+    public TrackingRedisCache(RedisClient client, RedisURI uri, int maximumSize, long maxAgeMs) {
+        this.client = client;
+        this.uri = uri;
+        this.maxAgeMs = maxAgeMs;
+        this.cache = new ExpiringLruCache<>(maximumSize);
+    }
+
+    /**
+     * Returns whether the tracked connection is open, i.e. whether cached entries can be trusted.
+     *
+     * @return true if tracking is active
+     */
+    public boolean isActive() {
+        StatefulRedisConnection<String, String> current = connection;
+        return current != null && current.isOpen();
+    }
+
+    /**
+     * Opens the tracked connection unless it is already open.
+     */
+    public synchronized void connect() {
+        if (isActive()) {
+            return;
+        }
+        clear();
+        StatefulRedisConnection<String, String> opened = null;
+        try {
+            opened = client.connect(StringCodec.UTF8, uri);
+            opened.addListener((PushListener) this);
+            opened.addListener((RedisConnectionStateListener) this);
+            opened.sync().clientTracking(TrackingArgs.Builder.enabled());
+            connection = opened;
+            log.info("Client-side tracking enabled for {}:{}", uri.getHost(), uri.getPort());
+        } catch (RuntimeException e) {
+            if (opened != null) {
+                opened.closeAsync();
+            }
+            log.warn("Failed to enable client-side tracking, reading Redis directly: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Returns whether a key exists, if that is known locally.
+     *
+     * @param key the key
+     * @return the cached answer, or null if the key has to be read
+     */
+    public Boolean cachedExists(String key) {
+        return isActive() ? cache.get(key, System.currentTimeMillis()) : null;
+    }
+
+    /**
+     * Reads keys over the tracked connection and caches whether each of them exists.
+     *
+     * @param keys the keys to read
+     * @return the values in the order of {@code keys}, null for missing keys
+     * @throws DataAccessException if the read fails or tracking is not active
+     */
+    public List<String> mget(List<String> keys) {
+        StatefulRedisConnection<String, String> current = connection;
+        if (current == null) {
+            throw new RedisConnectionFailureException("Client-side tracking is not active");
+        }
+        long seen = invalidations.get();
+        List<KeyValue<String, String>> read;
+        try {
+            read = current.sync().mget(keys.toArray(String[]::new));
+        } catch (RuntimeException e) {
+            DataAccessException translated = exceptionConverter.convert(e);
+            throw translated != null ? translated : new RedisSystemException(e.getMessage(), e);
+        }
+        List<String> values = new ArrayList<>(read.size());
+        long expiresAt = System.currentTimeMillis() + maxAgeMs;
+        for (KeyValue<String, String> keyValue : read) {
+            values.add(keyValue.getValueOrElse(null));
+            cache.put(keyValue.getKey(), keyValue.hasValue(), expiresAt);
+        }
+        if (invalidations.get() != seen) {
+            // An invalidation may have been applied before the entries above were stored.
+            keys.forEach(cache::remove);
+        }
+        return values;
+    }
+
+    /**
+     * Applies an invalidation pushed by Redis. A null key list means the whole keyspace was flushed.
+     *
+     * @param message the push message
+     */
+    @Override
+    public void onPushMessage(PushMessage message) {
+        if (!INVALIDATE.equals(message.getType())) {
+            return;
+        }
+        List<Object> content = message.getContent(StringCodec.UTF8::decodeKey);
+        invalidations.incrementAndGet();
+        if (content.size() < 2 || !(content.get(1) instanceof List<?> keys)) {
+            cache.clear();
+            return;
+        }
+        for (Object key : keys) {
+            cache.remove((String) key);
+        }
+    }
+
+    @Override
+    public void onRedisDisconnected(RedisChannelHandler<?, ?> handler) {
+        if (handler == connection) {
+            connection = null;
+            clear();
+            handler.closeAsync();
+            log.warn("Client-side tracking connection lost, reading Redis directly until reconnected");
+        }
+    }
+
+    @Override
+    public void close() {
+        StatefulRedisConnection<String, String> current = connection;
+        connection = null;
+        if (current != null) {
+            current.close();
+        }
+        client.shutdown();
+    }
+
+    private void clear() {
+        invalidations.incrementAndGet();
+        cache.clear();
+    }
+}
@@ -0,0 +1,109 @@
+package com.secureauth.cache;
+
+import com.secureauth.service.UserService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Evicts users from the user details cache on every node.
+ *
+ * <p>The cache is local to each node, so an eviction alone would leave the other nodes
+ * serving the old password hash and roles until their entries expire. {@link #evict(String)}
+ * evicts locally and publishes the username on {@link #INVALIDATION_CHANNEL}; every other
+ * node then evicts it too. Callers evict once the change is committed. Until the
+ * subscription is active, and whenever a message is lost, the cache TTL bounds staleness.</p>
+ */
+@Component
+public class UserDetailsCacheInvalidator implements MessageListener {
+
+    public static final String INVALIDATION_CHANNEL = "userdetails:events";
+
+    private static final Logger log = LoggerFactory.getLogger(UserDetailsCacheInvalidator.class);
+
+    private final CacheManager cacheManager;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final String nodeId = UUID.randomUUID().toString();
+    private volatile boolean subscribed;
+
+    public UserDetailsCacheInvalidator(CacheManager cacheManager,
+                                       RedisTemplate<String, String> redisTemplate,
+                                       ObjectProvider<RedisMessageListenerContainer> listenerContainer) {
+        this.cacheManager = cacheManager;
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer.getIfAvailable();
+    }
+
+    /**
+     * Evicts a user on this node and asks the other nodes to do the same.
+     *
+     * @param username the username
+     */
+    public void evict(String username) {
+        evictLocally(username);
+        try {
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, nodeId + "|" + username);
+        } catch (RuntimeException e) {
+            log.warn("Failed to publish user details invalidation for {}: {}", username, e.getMessage());
+        }
+    }
+
+    /**
+     * Evicts a user changed on another node.
+     *
+     * @param message the pub/sub message in the form {@code <node>|<username>}
+     * @param pattern the matched pattern, unused
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String payload = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = payload.indexOf('|');
+        if (separator <= 0) {
+            log.warn("Ignoring malformed user details cache event");
+            return;
+        }
+        if (!payload.startsWith(nodeId + "|")) {
+            evictLocally(payload.substring(separator + 1));
+        }
+    }
+
+    /**
+     * Subscribes to invalidations, retrying every {@code redis.pubsub.resubscribe-interval-ms} until it succeeds.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${redis.pubsub.resubscribe-interval-ms:60000}",
+            initialDelayString = "${redis.pubsub.resubscribe-interval-ms:60000}")
+    public void subscribe() {
+        if (listenerContainer == null || subscribed) {
+            return;
+        }
+        try {
+            listenerContainer.addMessageListener(this, new ChannelTopic(INVALIDATION_CHANNEL));
+            subscribed = true;
+        } catch (Exception e) {
+            log.warn("Failed to subscribe to user details cache events: {}", e.getMessage());
+        }
+    }
+
+    private void evictLocally(String username) {
+        Cache cache = cacheManager.getCache(UserService.USER_DETAILS_CACHE);
+        if (cache != null) {
+            cache.evict(username);
+        }
+    }
+}
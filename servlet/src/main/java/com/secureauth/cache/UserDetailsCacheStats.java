@@ -0,0 +1,66 @@
+package com.secureauth.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.secureauth.service.UserService;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exposes statistics of the user details cache over JMX.
+ */
+@Component
+@ManagedResource(objectName = "com.secureauth:type=Cache,name=userDetails")
+public class UserDetailsCacheStats {
+
+    private final CacheManager cacheManager;
+
+    public UserDetailsCacheStats(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @ManagedAttribute(description = "Approximate number of cached users")
+    public long getSize() {
+        Cache<Object, Object> cache = nativeCache();
+        return cache == null ? 0 : cache.estimatedSize();
+    }
+
+    @ManagedAttribute(description = "Fraction of lookups served from the cache")
+    public double getHitRate() {
+        return stats().hitRate();
+    }
+
+    @ManagedAttribute(description = "Lookups served from the cache")
+    public long getHits() {
+        return stats().hitCount();
+    }
+
+    @ManagedAttribute(description = "Lookups that loaded the user from the database")
+    public long getMisses() {
+        return stats().missCount();
+    }
+
+    @ManagedAttribute(description = "Average time spent loading a user, in milliseconds")
+    public double getAverageLoadMillis() {
+        return stats().averageLoadPenalty() / 1_000_000.0;
+    }
+
+    @ManagedAttribute(description = "Entries evicted because of size or expiry")
+    public long getEvictions() {
+        return stats().evictionCount();
+    }
+
+    private CacheStats stats() {
+        Cache<Object, Object> cache = nativeCache();
+        return cache == null ? CacheStats.empty() : cache.stats();
+    }
+
+    private Cache<Object, Object> nativeCache() {
+        return cacheManager.getCache(UserService.USER_DETAILS_CACHE) instanceof CaffeineCache caffeineCache
+                ? caffeineCache.getNativeCache()
+                : null;
+    }
+}
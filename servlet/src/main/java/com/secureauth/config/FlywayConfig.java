@@ -0,0 +1,33 @@
+package com.secureauth.config;
+
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Runs the schema migrations at startup unless {@code spring.flyway.enabled} is false.
+ *
+ * <p>Spring Boot checks that property when deciding whether to create its Flyway beans. An
+ * AOT-processed build makes that decision at build time, so with {@code -Dspring.aot.enabled=true}
+ * the property would no longer stop a migration, e.g. in the {@code cds-training} run, which has
+ * no database. The strategy reads it again at startup.</p>
+ */
+@Configuration
+public class FlywayConfig {
+
+    /**
+     * Migrates the schema if Flyway is enabled at runtime.
+     *
+     * @param environment the environment
+     * @return the migration strategy
+     */
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy(Environment environment) {
+        return flyway -> {
+            if (environment.getProperty("spring.flyway.enabled", Boolean.class, true)) {
+                flyway.migrate();
+            }
+        };
+    }
+}
@@ -0,0 +1,114 @@
+package com.secureauth.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Routes read-only transactions to read replicas ({@code jdbc.replicas.urls}).
+ *
+ * <p>The primary pool stays the one Spring Boot configures from {@code spring.datasource};
+ * it is wrapped in a {@link ReadReplicaRoutingDataSource} whose read-only side is a
+ * {@link ReadReplicaDataSource} over one Hikari pool per replica. Credentials and the
+ * driver default to the primary's. In virtual-thread mode the primary and each replica
+ * pool are limited separately, see {@link ConcurrencyLimitedDataSource}.</p>
+ */
+@Configuration
+public class ReadReplicaConfig {
+
+    /**
+     * The default lag probe for Postgres: unbounded unless the WAL receiver is streaming from
+     * the primary, since a disconnected replica has replayed everything it received and would
+     * otherwise report no lag at all; then zero while the replica has replayed everything it
+     * received, otherwise the age of the last replayed transaction. Reading the receiver status
+     * needs {@code pg_read_all_stats} (e.g. through {@code pg_monitor}); without it the replica
+     * is never used.
+     */
+    private static final String POSTGRES_LAG_QUERY = """
+            select case when not exists (select 1 from pg_stat_wal_receiver where status = 'streaming')
+                        then 9223372036854775807
+                   when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0
+                   else coalesce(extract(epoch from now() - pg_last_xact_replay_timestamp()) * 1000, 0) end""";
+
+    /**
+     * Wraps the primary data source in a {@link ReadReplicaRoutingDataSource} if replicas are
+     * configured. This is decided at runtime rather than by a condition, so an AOT-processed
+     * build can still be pointed at replicas.
+     *
+     * @param environment the environment
+     * @return the post-processor wrapping the data source
+     */
+    @Bean
+    public static BeanPostProcessor readReplicaDataSourcePostProcessor(Environment environment) {
+        List<String> urls = Arrays.stream(StringUtils.commaDelimitedListToStringArray(
+                        environment.getProperty("jdbc.replicas.urls", "")))
+                .map(String::trim).filter(StringUtils::hasText).toList();
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (urls.isEmpty() || !(bean instanceof DataSource primary)
+                        || bean instanceof ReadReplicaRoutingDataSource || bean instanceof ReadReplicaDataSource) {
+                    return bean;
+                }
+                List<ReadReplicaDataSource.Replica> replicas = new ArrayList<>(urls.size());
+                for (int i = 0; i < urls.size(); i++) {
+                    replicas.add(new ReadReplicaDataSource.Replica("replica-" + (i + 1),
+                            replicaPool(environment, "replica-" + (i + 1), urls.get(i))));
+                }
+                DataSource target = primary instanceof ConcurrencyLimitedDataSource ? primary
+                        : limitedIfVirtual(environment, primary, environment.getProperty(
+                                "spring.datasource.hikari.maximum-pool-size", Integer.class, 10));
+                ReadReplicaDataSource readOnly = new ReadReplicaDataSource(target, replicas,
+                        environment.getProperty("jdbc.replicas.max-lag-ms", Long.class, 1000L),
+                        environment.getProperty("jdbc.replicas.lag-query", POSTGRES_LAG_QUERY),
+                        environment.getProperty("jdbc.replicas.check-interval-ms", Long.class, 1000L));
+                return new ReadReplicaRoutingDataSource(target, readOnly);
+            }
+        };
+    }
+
+    private static DataSource replicaPool(Environment environment, String name, String url) {
+        int maximumPoolSize = environment.getProperty("jdbc.replicas.maximum-pool-size", Integer.class,
+                environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10));
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(name);
+        config.setJdbcUrl(url);
+        config.setUsername(environment.getProperty("jdbc.replicas.username",
+                environment.getProperty("spring.datasource.username")));
+        config.setPassword(environment.getProperty("jdbc.replicas.password",
+                environment.getProperty("spring.datasource.password")));
+        String driverClassName = environment.getProperty("spring.datasource.driver-class-name");
+        if (StringUtils.hasText(driverClassName)) {
+            config.setDriverClassName(driverClassName);
+        }
+        config.setMaximumPoolSize(maximumPoolSize);
+        config.setAutoCommit(environment.getProperty("spring.datasource.hikari.auto-commit", Boolean.class, true));
+        config.setReadOnly(true);
+        // A dead replica must not hold a request for the primary's full connection timeout
+        config.setConnectionTimeout(environment.getProperty("jdbc.replicas.connection-timeout-ms", Long.class, 1000L));
+        // Start even if the replica is down; the lag probe marks it usable once it answers
+        config.setInitializationFailTimeout(-1);
+        return limitedIfVirtual(environment, new HikariDataSource(config), maximumPoolSize);
+    }
+
+    /**
+     * Applies the virtual-thread connection limit here, since the routing data source is
+     * not limited as a whole: reads and writes each have their own pools.
+     */
+    private static DataSource limitedIfVirtual(Environment environment, DataSource dataSource, int maxConcurrency) {
+        if (!environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false)) {
+            return dataSource;
+        }
+        return new ConcurrencyLimitedDataSource(dataSource, maxConcurrency,
+                environment.getProperty("jdbc.concurrency-limit.acquire-timeout-ms", Long.class, 2000L));
+    }
+}
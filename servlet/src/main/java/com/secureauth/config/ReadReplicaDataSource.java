@@ -0,0 +1,147 @@
+package com.secureauth.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands out connections to the read replicas, falling back to the primary.
+ *
+ * <p>Each replica is probed every {@code checkIntervalMillis} with a query returning its
+ * replication lag in milliseconds. Connections are handed out round-robin among the
+ * replicas whose last probe succeeded within {@code maxLagMillis}; a replica that fails
+ * to hand out a connection is skipped until the next successful probe. If no replica
+ * qualifies, including before the first probe, the connection comes from the primary,
+ * so reads are never more stale than the lag tolerance.</p>
+ */
+public class ReadReplicaDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadReplicaDataSource.class);
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final long maxLagMillis;
+    private final String lagQuery;
+    private final AtomicInteger next = new AtomicInteger();
+    private final ScheduledExecutorService probes;
+
+    /**
+     * Creates the data source and starts probing the replicas.
+     *
+     * @param primary             the data source used when no replica qualifies
+     * @param replicas            the replicas
+     * @param maxLagMillis        the replication lag above which a replica is skipped
+     * @param lagQuery            a query returning a replica's lag in milliseconds as its only column
+     * @param checkIntervalMillis how often replicas are probed
+     */
+    public ReadReplicaDataSource(DataSource primary, List<Replica> replicas, long maxLagMillis, String lagQuery,
+                                 long checkIntervalMillis) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.maxLagMillis = maxLagMillis;
+        this.lagQuery = lagQuery;
+        this.probes = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("replica-probe").daemon().factory());
+        this.probes.scheduleWithFixedDelay(this::probe, 0, checkIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (!replica.usable) {
+                continue;
+            }
+            try {
+                return replica.dataSource.getConnection();
+            } catch (SQLException e) {
+                replica.usable = false;
+                log.warn("Read replica {} failed, skipping it until it recovers: {}", replica.name, e.getMessage());
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLException("Read replicas only support the configured credentials");
+    }
+
+    /**
+     * Returns whether any replica currently receives reads.
+     *
+     * @return true if at least one replica is usable
+     */
+    public boolean hasUsableReplica() {
+        return replicas.stream().anyMatch(replica -> replica.usable);
+    }
+
+    @Override
+    public void close() throws Exception {
+        probes.shutdownNow();
+        for (Replica replica : replicas) {
+            if (replica.dataSource.isWrapperFor(AutoCloseable.class)) {
+                replica.dataSource.unwrap(AutoCloseable.class).close();
+            }
+        }
+    }
+
+    private void probe() {
+        for (Replica replica : replicas) {
+            boolean usable;
+            String reason;
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(lagQuery)) {
+                long lagMillis = resultSet.next() ? resultSet.getLong(1) : Long.MAX_VALUE;
+                usable = lagMillis <= maxLagMillis;
+                reason = "lag " + lagMillis + " ms";
+            } catch (SQLException | RuntimeException e) {
+                usable = false;
+                reason = e.getMessage();
+            }
+            if (usable != replica.usable || !replica.probed) {
+                if (usable) {
+                    log.info("Read replica {} is usable ({})", replica.name, reason);
+                } else {
+                    log.warn("Read replica {} is not usable, reading from the primary instead ({})", replica.name, reason);
+                }
+                replica.usable = usable;
+                replica.probed = true;
+            }
+        }
+    }
+
+    /**
+     * A replica and whether its last probe qualified it for reads.
+     */
+    public static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean usable;
+        private boolean probed;
+
+        /**
+         * @param name       the name used in logs
+         * @param dataSource the replica's connection pool
+         */
+        public Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.secureauth.config;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Sends read-only transactions to the read replicas and everything else to the primary.
+ *
+ * <p>Spring marks the connection of a {@code @Transactional(readOnly = true)} transaction
+ * read-only before the first statement runs. Connections are only fetched at that first
+ * statement, so by then it is known which of the two data sources to take it from.</p>
+ */
+public class ReadReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+    private final ReadReplicaDataSource replicas;
+
+    /**
+     * @param primary  the primary data source
+     * @param replicas the replicas, which fall back to the primary on their own
+     */
+    public ReadReplicaRoutingDataSource(DataSource primary, ReadReplicaDataSource replicas) {
+        super(primary);
+        this.replicas = replicas;
+        setReadOnlyDataSource(replicas);
+    }
+
+    @Override
+    public void close() throws Exception {
+        replicas.close();
+        DataSource primary = obtainTargetDataSource();
+        if (primary.isWrapperFor(AutoCloseable.class)) {
+            primary.unwrap(AutoCloseable.class).close();
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.secureauth.config;
+
+import com.secureauth.cache.TrackingRedisCache;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.SocketOptions;
+import io.lettuce.core.protocol.ProtocolVersion;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.data.redis.RedisConnectionDetails;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.time.Duration;
+
+/**
+ * Configures Redis pub/sub used to replicate token revocations across nodes, the
+ * client-side tracking cache for blacklist lookups, and the circuit breaker guarding
+ * the Redis calls made on the request path.
+ */
+@Configuration
+public class RedisConfig {
+
+    /**
+     * Creates the container carrying revocation events between nodes. It starts without
+     * listeners so that an unreachable Redis does not prevent startup; the blacklist
+     * service subscribes once Redis is available.
+     *
+     * @param connectionFactory the Redis connection factory
+     * @return the listener container
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "blacklist.near-cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public RedisMessageListenerContainer revocationListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+
+    /**
+     * Creates the client-side cache for blacklist lookups. It owns a separate Lettuce client
+     * because tracking invalidations are pushed on the connection that made the reads, which
+     * requires RESP3, and because a dropped connection must not silently reconnect without
+     * tracking. The connection is opened by the blacklist service once Redis is available.
+     *
+     * @param connectionDetails the Redis location and credentials
+     * @param properties        the Redis properties, for timeouts and SSL
+     * @return the tracking cache
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "blacklist.tracking", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public TrackingRedisCache blacklistTrackingCache(
+            RedisConnectionDetails connectionDetails,
+            RedisProperties properties,
+            @Value("${blacklist.tracking.maximum-size:100000}") int maximumSize,
+            @Value("${blacklist.tracking.max-age-ms:300000}") long maxAgeMs) {
+        RedisConnectionDetails.Standalone standalone = connectionDetails.getStandalone();
+        RedisURI.Builder uri = RedisURI.builder()
+                .withHost(standalone.getHost())
+                .withPort(standalone.getPort())
+                .withDatabase(standalone.getDatabase())
+                .withSsl(properties.getSsl().isEnabled());
+        if (properties.getTimeout() != null) {
+            uri.withTimeout(properties.getTimeout());
+        }
+        if (connectionDetails.getPassword() != null) {
+            if (connectionDetails.getUsername() != null) {
+                uri.withAuthentication(connectionDetails.getUsername(), connectionDetails.getPassword());
+            } else {
+                uri.withPassword(connectionDetails.getPassword().toCharArray());
+            }
+        }
+        SocketOptions.Builder socket = SocketOptions.builder();
+        if (properties.getConnectTimeout() != null) {
+            socket.connectTimeout(properties.getConnectTimeout());
+        }
+        RedisClient client = RedisClient.create();
+        client.setOptions(ClientOptions.builder()
+                .protocolVersion(ProtocolVersion.RESP3)
+                .autoReconnect(false)
+                .socketOptions(socket.build())
+                .build());
+        return new TrackingRedisCache(client, uri.build(), maximumSize, maxAgeMs);
+    }
+
+    /**
+     * Creates the circuit breaker for per-request Redis calls. It opens when too many calls
+     * fail or run slow, so a stalled Redis costs requests nothing while it recovers, and
+     * publishes its state as {@code resilience4j.circuitbreaker.*} metrics.
+     *
+     * @param meterRegistry the meter registry
+     * @return the circuit breaker named {@code redis}
+     */
+    @Bean
+    public CircuitBreaker redisCircuitBreaker(
+            MeterRegistry meterRegistry,
+            @Value("${redis.circuit-breaker.failure-rate-threshold:50}") float failureRateThreshold,
+            @Value("${redis.circuit-breaker.slow-call-duration-ms:100}") long slowCallDurationMs,
+            @Value("${redis.circuit-breaker.slow-call-rate-threshold:80}") float slowCallRateThreshold,
+            @Value("${redis.circuit-breaker.sliding-window-size:50}") int slidingWindowSize,
+            @Value("${redis.circuit-breaker.minimum-calls:20}") int minimumCalls,
+            @Value("${redis.circuit-breaker.wait-in-open-ms:5000}") long waitInOpenMs,
+            @Value("${redis.circuit-breaker.half-open-calls:5}") int halfOpenCalls) {
+        CircuitBreakerConfig config = CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallDurationThreshold(Duration.ofMillis(slowCallDurationMs))
+                .slowCallRateThreshold(slowCallRateThreshold)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumCalls)
+                .waitDurationInOpenState(Duration.ofMillis(waitInOpenMs))
+                .permittedNumberOfCallsInHalfOpenState(halfOpenCalls)
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                .recordExceptions(DataAccessException.class)
+                .build();
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(config);
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+        return registry.circuitBreaker("redis");
+    }
+}
@@ -0,0 +1,79 @@
+package com.secureauth.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.secureauth.entity.Role;
+import com.secureauth.entity.User;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sets up the Hibernate second-level cache regions in a local Caffeine JCache manager.
+ *
+ * <p>Every region is created here with a size bound, and Hibernate is configured to fail
+ * on regions it does not find, so nothing is ever cached without eviction. User regions
+ * also expire after {@code l2-cache.user.ttl-ms}, which bounds staleness on other nodes if
+ * an invalidation from {@link SecondLevelCacheInvalidator} is missed.</p>
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    public static final String ROLE_REGION = Role.class.getName();
+    public static final String USER_REGION = User.class.getName();
+    public static final String USER_NATURAL_ID_REGION = USER_REGION + "##NaturalId";
+    public static final String USER_ROLES_REGION = USER_REGION + ".roles";
+
+    /**
+     * Creates the JCache manager holding the second-level cache regions. It is separate from
+     * the Caffeine cache manager behind Spring's {@code @Cacheable}.
+     *
+     * @param roleMaximumSize the maximum number of cached roles
+     * @param userMaximumSize the maximum number of entries in each user region
+     * @param userTtlMs       how long user entries are kept
+     * @return the cache manager
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+            @Value("${l2-cache.role.maximum-size:100}") long roleMaximumSize,
+            @Value("${l2-cache.user.maximum-size:10000}") long userMaximumSize,
+            @Value("${l2-cache.user.ttl-ms:300000}") long userTtlMs) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("hibernate-l2"), getClass().getClassLoader());
+        cacheManager.createCache(ROLE_REGION, region(roleMaximumSize, 0));
+        cacheManager.createCache(USER_REGION, region(userMaximumSize, userTtlMs));
+        cacheManager.createCache(USER_NATURAL_ID_REGION, region(userMaximumSize, userTtlMs));
+        cacheManager.createCache(USER_ROLES_REGION, region(userMaximumSize, userTtlMs));
+        return cacheManager;
+    }
+
+    /**
+     * Hands the cache manager to Hibernate's JCache region factory.
+     *
+     * @param hibernateCacheManager the cache manager
+     * @return the customizer
+     */
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    private static CaffeineConfiguration<Object, Object> region(long maximumSize, long ttlMs) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maximumSize));
+        if (ttlMs > 0) {
+            configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.MILLISECONDS.toNanos(ttlMs)));
+        }
+        // Hibernate stores immutable cache entries; copying them on every read would only cost allocations.
+        configuration.setStoreByValue(false);
+        return configuration;
+    }
+}
@@ -0,0 +1,164 @@
+package com.secureauth.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Carries second-level cache invalidations between nodes over Redis pub/sub.
+ *
+ * <p>Hibernate keeps each node's own regions consistent with the writes that node makes,
+ * but knows nothing of the others. Once a transaction updating or deleting a cached
+ * entity commits, this listener publishes the entity on {@link #INVALIDATION_CHANNEL};
+ * every other node then evicts the entity and its cached collections. Natural IDs are
+ * immutable, so their cached resolutions only go stale when the entity is deleted.</p>
+ *
+ * <p>Only entity updates are published. Collections of a user are changed together with
+ * its security version in this application, so they are covered. Bulk JPQL and JDBC
+ * writes bypass the listener; the region TTL bounds how long other nodes see them late.</p>
+ */
+@Component
+@ConditionalOnProperty(prefix = "l2-cache", name = "cluster-invalidation", havingValue = "true", matchIfMissing = true)
+public class SecondLevelCacheInvalidator implements PostCommitUpdateEventListener, PostCommitDeleteEventListener,
+        MessageListener {
+
+    public static final String INVALIDATION_CHANNEL = "l2cache:events";
+
+    private static final Logger log = LoggerFactory.getLogger(SecondLevelCacheInvalidator.class);
+    private static final String UPDATED = "U";
+    private static final String DELETED = "D";
+
+    private final SessionFactoryImplementor sessionFactory;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final String nodeId = UUID.randomUUID().toString();
+    private volatile boolean subscribed;
+
+    public SecondLevelCacheInvalidator(EntityManagerFactory entityManagerFactory,
+                                       RedisTemplate<String, String> redisTemplate,
+                                       ObjectProvider<RedisMessageListenerContainer> listenerContainer) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer.getIfAvailable();
+    }
+
+    /**
+     * Registers this listener for committed updates and deletes.
+     */
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = sessionFactory.getServiceRegistry().requireService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return persister.canWriteToCache();
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        publish(UPDATED, event.getPersister().getEntityName(), event.getId());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        publish(DELETED, event.getPersister().getEntityName(), event.getId());
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // Nothing was written, so nothing is stale.
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        // Nothing was written, so nothing is stale.
+    }
+
+    /**
+     * Evicts an entity changed on another node.
+     *
+     * @param message the pub/sub message in the form {@code <node>|<U or D>|<entity name>|<id>}
+     * @param pattern the matched pattern, unused
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|", 4);
+        if (parts.length != 4) {
+            log.warn("Ignoring malformed second-level cache event");
+            return;
+        }
+        if (nodeId.equals(parts[0])) {
+            return;
+        }
+        String entityName = parts[2];
+        try {
+            Long id = Long.valueOf(parts[3]);
+            Cache cache = sessionFactory.getCache();
+            cache.evictEntityData(entityName, id);
+            sessionFactory.getMappingMetamodel().forEachCollectionDescriptor(collection -> {
+                if (collection.hasCache() && collection.getOwnerEntityPersister().getEntityName().equals(entityName)) {
+                    cache.evictCollectionData(collection.getRole(), id);
+                }
+            });
+            if (DELETED.equals(parts[1])) {
+                cache.evictNaturalIdData(entityName);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to apply second-level cache event: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Subscribes to invalidations, retrying every {@code redis.pubsub.resubscribe-interval-ms} until it succeeds.
+     * Until then, and whenever a message is lost, the region TTL bounds staleness.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${redis.pubsub.resubscribe-interval-ms:60000}",
+            initialDelayString = "${redis.pubsub.resubscribe-interval-ms:60000}")
+    public void subscribe() {
+        if (listenerContainer == null || subscribed) {
+            return;
+        }
+        try {
+            listenerContainer.addMessageListener(this, new ChannelTopic(INVALIDATION_CHANNEL));
+            subscribed = true;
+        } catch (Exception e) {
+            log.warn("Failed to subscribe to second-level cache events: {}", e.getMessage());
+        }
+    }
+
+    private void publish(String change, String entityName, Object id) {
+        try {
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, nodeId + "|" + change + "|" + entityName + "|" + id);
+        } catch (RuntimeException e) {
+            log.warn("Failed to publish second-level cache invalidation for {}#{}: {}", entityName, id, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.secureauth.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.util.concurrent.Executors;
+
+/**
+ * Adjustments applied when request handling runs on virtual threads
+ * ({@code spring.threads.virtual.enabled=true}).
+ *
+ * <p>Tomcat, {@code @Scheduled} tasks and the Redis listener then use virtual threads
+ * through Spring Boot's auto-configuration. Password hashing keeps its own bounded
+ * platform-thread pool, since BCrypt is CPU-bound.</p>
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    /**
+     * Switches the Caffeine caches to async mode. A synchronous {@code @Cacheable(sync = true)}
+     * load runs inside a {@code ConcurrentHashMap} bin lock, which pins the carrier thread
+     * for the whole database query; in async mode the load runs on its own virtual thread
+     * and callers only wait on its future.
+     *
+     * @param cacheProperties the cache properties carrying the Caffeine spec
+     * @return the customizer
+     */
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> virtualThreadCacheManagerCustomizer(CacheProperties cacheProperties) {
+        return cacheManager -> {
+            String spec = cacheProperties.getCaffeine().getSpec();
+            Caffeine<Object, Object> caffeine = StringUtils.hasText(spec) ? Caffeine.from(spec) : Caffeine.newBuilder();
+            cacheManager.setCaffeine(caffeine.executor(Executors.newVirtualThreadPerTaskExecutor()));
+            cacheManager.setAsyncCacheMode(true);
+        };
+    }
+
+    /**
+     * Limits concurrent connection checkouts to the pool size, see {@link ConcurrencyLimitedDataSource}.
+     * With read replicas, {@link ReadReplicaConfig} limits each pool itself.
+     *
+     * @param environment the environment
+     * @return the post-processor wrapping the data source
+     */
+    @Bean
+    public static BeanPostProcessor concurrencyLimitedDataSourcePostProcessor(Environment environment) {
+        int maxConcurrency = environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10);
+        long acquireTimeoutMillis = environment.getProperty("jdbc.concurrency-limit.acquire-timeout-ms", Long.class, 2000L);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ConcurrencyLimitedDataSource)
+                        && !(bean instanceof ReadReplicaRoutingDataSource)) {
+                    return new ConcurrencyLimitedDataSource(dataSource, maxConcurrency, acquireTimeoutMillis);
+                }
+                return bean;
+            }
+        };
+    }
+}
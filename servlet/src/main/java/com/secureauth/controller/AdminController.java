@@ -0,0 +1,97 @@
+package com.secureauth.controller;
+
+import com.secureauth.dto.RoleUpdateRequest;
+import com.secureauth.dto.UserImportResult;
+import com.secureauth.entity.enums.RoleType;
+import com.secureauth.service.UserImportService;
+import com.secureauth.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import jakarta.validation.Valid;
+import java.io.IOException;
+
+/**
+ * Handles user administration HTTP requests. Restricted to administrators.
+ */
+@RestController
+@RequestMapping("/v1/admin")
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminController {
+
+    private static final Logger log = LoggerFactory.getLogger(AdminController.class);
+    private final UserService userService;
+    private final UserImportService userImportService;
+
+    public AdminController(UserService userService, UserImportService userImportService) {
+        this.userService = userService;
+        this.userImportService = userImportService;
+    }
+
+    /**
+     * Replaces a user's roles. Tokens issued before the change stop working in stateless principal mode.
+     *
+     * @param username the username
+     * @param request  the request containing the new roles
+     * @return a success message
+     */
+    @PutMapping("/users/{username}/roles")
+    public ResponseEntity<String> updateRoles(@PathVariable String username,
+                                              @Valid @RequestBody RoleUpdateRequest request) {
+        log.info("Processing role update for username: {}", username);
+        userService.updateRoles(username, request.getRoles());
+        return ResponseEntity.ok("Roles updated");
+    }
+
+    /**
+     * Signs a user out of every session.
+     *
+     * @param username the username
+     * @return a success message
+     */
+    @PostMapping("/users/{username}/sessions/revoke")
+    public ResponseEntity<String> revokeUserSessions(@PathVariable String username) {
+        log.info("Processing session revocation for username: {}", username);
+        userService.signOutEverywhere(username);
+        return ResponseEntity.ok("Sessions revoked");
+    }
+
+    /**
+     * Signs every holder of a role out of every session.
+     *
+     * @param role the role
+     * @return a success message
+     */
+    @PostMapping("/roles/{role}/sessions/revoke")
+    public ResponseEntity<String> revokeRoleSessions(@PathVariable RoleType role) {
+        log.info("Processing session revocation for role: {}", role);
+        userService.signOutEverywhere(role);
+        return ResponseEntity.ok("Sessions revoked");
+    }
+
+    /**
+     * Imports users from a streamed CSV or NDJSON body. Rows whose username already exists
+     * are reported and skipped; the rest of the batch is still imported.
+     *
+     * @param request the request whose body holds the users
+     * @return the number of imported, conflicting and invalid rows, with the rejected rows
+     * @throws IOException if the body cannot be opened
+     */
+    @PostMapping(value = "/users/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<UserImportResult> importUsers(HttpServletRequest request) throws IOException {
+        UserImportService.Format format = request.getContentType().startsWith("text/csv")
+                ? UserImportService.Format.CSV
+                : UserImportService.Format.NDJSON;
+        log.info("Processing {} user import", format);
+        return ResponseEntity.ok(userImportService.importUsers(request.getInputStream(), format));
+    }
+}
@@ -0,0 +1,160 @@
+package com.secureauth.controller;
+
+import com.secureauth.dto.AuthRequest;
+import com.secureauth.dto.AuthResponse;
+import com.secureauth.dto.ChangePasswordRequest;
+import com.secureauth.dto.RefreshRequest;
+import com.secureauth.entity.User;
+import com.secureauth.metrics.AuthMetrics.UserOperation;
+import com.secureauth.security.JwtTokenProvider;
+import com.secureauth.security.VerifiedToken;
+import com.secureauth.service.RateLimiter;
+import com.secureauth.service.RefreshTokenService;
+import com.secureauth.service.TokenBlacklistService;
+import com.secureauth.service.TokenGenerationService;
+import com.secureauth.service.UserService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+
+/**
+ * Handles authentication-related HTTP requests.
+ */
+@RestController
+@RequestMapping("/v1/auth")
+public class AuthController {
+
+    private static final Logger log = LoggerFactory.getLogger(AuthController.class);
+    private final UserService userService;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final TokenBlacklistService tokenBlacklistService;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenGenerationService tokenGenerationService;
+    private final RateLimiter rateLimiter;
+
+    public AuthController(UserService userService,
+                          JwtTokenProvider jwtTokenProvider,
+                          TokenBlacklistService tokenBlacklistService,
+                          RefreshTokenService refreshTokenService,
+                          TokenGenerationService tokenGenerationService,
+                          RateLimiter rateLimiter) {
+        this.userService = userService;
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.tokenBlacklistService = tokenBlacklistService;
+        this.refreshTokenService = refreshTokenService;
+        this.tokenGenerationService = tokenGenerationService;
+        this.rateLimiter = rateLimiter;
+    }
+
+    /**
+     * Registers a new user and returns a JWT token and a refresh token.
+     * Rate limited per client IP.
+     *
+     * @param request     the signup request containing username and password
+     * @param httpRequest the HTTP request, for the client address
+     * @return the JWT token and refresh token
+     */
+    @PostMapping("/signUp")
+    public ResponseEntity<AuthResponse> signUp(@Valid @RequestBody AuthRequest request, HttpServletRequest httpRequest) {
+        log.debug("Processing signUp for username: {}", request.getUsername());
+        RateLimiter.Decision limit = rateLimiter.acquire(UserOperation.SIGN_UP, httpRequest.getRemoteAddr(), request.getUsername());
+        User user = userService.signup(request.getUsername(), request.getPassword());
+        return ResponseEntity.ok().headers(limit.headers()).body(tokens(refreshTokenService.issue(user)));
+    }
+
+    /**
+     * Authenticates a user and returns a JWT token and a refresh token.
+     * Rate limited per client IP and per username.
+     *
+     * @param request     the signin request containing username and password
+     * @param httpRequest the HTTP request, for the client address
+     * @return the JWT token and refresh token
+     */
+    @PostMapping("/signIn")
+    public ResponseEntity<AuthResponse> signIn(@Valid @RequestBody AuthRequest request, HttpServletRequest httpRequest) {
+        log.debug("Processing signIn for username: {}", request.getUsername());
+        RateLimiter.Decision limit = rateLimiter.acquire(UserOperation.SIGN_IN, httpRequest.getRemoteAddr(), request.getUsername());
+        User user = userService.signIn(request.getUsername(), request.getPassword());
+        return ResponseEntity.ok().headers(limit.headers()).body(tokens(refreshTokenService.issue(user)));
+    }
+
+    /**
+     * Exchanges a refresh token for a new JWT token and a new refresh token.
+     * The presented refresh token cannot be used again; reusing it revokes the whole session.
+     *
+     * @param request the request containing the refresh token
+     * @return the new JWT token and refresh token
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponse> refresh(@Valid @RequestBody RefreshRequest request) {
+        log.debug("Processing token refresh");
+        return ResponseEntity.ok(tokens(refreshTokenService.rotate(request.getRefreshToken())));
+    }
+
+    /**
+     * Logs out the user by blacklisting their JWT token and revoking its refresh tokens.
+     *
+     * @param request the HTTP request containing the Authorization header
+     * @return a success message
+     */
+    @PostMapping("/signOut")
+    public ResponseEntity<String> signOut(HttpServletRequest request) {
+        log.debug("Processing signOut request");
+        String authHeader = request.getHeader("Authorization");
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            String token = authHeader.substring(7);
+            VerifiedToken verified = jwtTokenProvider.verify(token);
+            tokenBlacklistService.blacklistToken(verified.tokenId(), verified.expiresAt());
+            if (verified.sessionId() != null) {
+                refreshTokenService.revokeFamily(verified.sessionId());
+            }
+        }
+        return ResponseEntity.ok("Successfully logged out");
+    }
+
+    /**
+     * Signs the current user out of every session, on every device.
+     *
+     * @param authentication the authenticated user
+     * @return a success message
+     */
+    @PostMapping("/signOutAll")
+    public ResponseEntity<String> signOutAll(Authentication authentication) {
+        log.debug("Processing signOutAll for username: {}", authentication.getName());
+        userService.signOutEverywhere(authentication.getName());
+        return ResponseEntity.ok("Successfully logged out of all sessions");
+    }
+
+    /**
+     * Changes the current user's password. Tokens issued before the change stop working
+     * in stateless principal mode and all refresh tokens are revoked, so fresh ones are returned.
+     *
+     * @param request        the request containing the current and new password
+     * @param authentication the authenticated user
+     * @return a new JWT token and refresh token
+     */
+    @PostMapping("/changePassword")
+    public ResponseEntity<AuthResponse> changePassword(@Valid @RequestBody ChangePasswordRequest request,
+                                                       Authentication authentication) {
+        log.debug("Processing changePassword for username: {}", authentication.getName());
+        User user = userService.changePassword(authentication.getName(),
+                request.getCurrentPassword(), request.getNewPassword());
+        return ResponseEntity.ok(tokens(refreshTokenService.issue(user)));
+    }
+
+    private AuthResponse tokens(RefreshTokenService.IssuedToken refreshToken) {
+        User user = refreshToken.user();
+        String token = jwtTokenProvider.generateToken(user.getUsername(), user.getRoles(),
+                user.getSecurityVersion(), refreshToken.familyId(),
+                tokenGenerationService.current(user.getUsername(), user.getRoles()));
+        return new AuthResponse(token, refreshToken.token());
+    }
+}
\ No newline at end of file
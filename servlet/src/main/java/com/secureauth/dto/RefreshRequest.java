@@ -0,0 +1,16 @@
+package com.secureauth.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Represents the request payload for exchanging a refresh token.
+ */
+@Getter
+@Setter
+public class RefreshRequest {
+
+    @NotBlank(message = "Refresh token is required")
+    private String refreshToken;
+}
@@ -0,0 +1,19 @@
+package com.secureauth.dto;
+
+import com.secureauth.entity.enums.RoleType;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Set;
+
+/**
+ * Represents the request payload for replacing a user's roles.
+ */
+@Getter
+@Setter
+public class RoleUpdateRequest {
+
+    @NotEmpty(message = "At least one role is required")
+    private Set<RoleType> roles;
+}
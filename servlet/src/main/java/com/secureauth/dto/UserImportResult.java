@@ -0,0 +1,71 @@
+package com.secureauth.dto;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Represents the outcome of a bulk user import.
+ */
+@Getter
+public class UserImportResult {
+
+    /**
+     * The maximum number of row errors reported back; the counters keep counting past it.
+     */
+    public static final int MAX_REPORTED_ERRORS = 1000;
+
+    private long imported;
+    private long conflicts;
+    private long invalid;
+    private final List<RowError> errors = new ArrayList<>();
+
+    /**
+     * Counts successfully inserted users.
+     *
+     * @param count the number of users inserted
+     */
+    public void addImported(int count) {
+        imported += count;
+    }
+
+    /**
+     * Records a row whose username already exists.
+     *
+     * @param line     the line number in the request body
+     * @param username the username
+     */
+    public void addConflict(long line, String username) {
+        conflicts++;
+        addError(line, username, "Username already exists");
+    }
+
+    /**
+     * Records a row that could not be parsed or validated.
+     *
+     * @param line     the line number in the request body
+     * @param username the username, if it could be read
+     * @param reason   why the row was rejected
+     */
+    public void addInvalid(long line, String username, String reason) {
+        invalid++;
+        addError(line, username, reason);
+    }
+
+    private void addError(long line, String username, String reason) {
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(new RowError(line, username, reason));
+        }
+    }
+
+    /**
+     * A rejected row.
+     *
+     * @param line     the line number in the request body
+     * @param username the username, or null if it could not be read
+     * @param reason   why the row was rejected
+     */
+    public record RowError(long line, String username, String reason) {
+    }
+}
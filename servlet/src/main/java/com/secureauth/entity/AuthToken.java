@@ -0,0 +1,48 @@
+package com.secureauth.entity;
+
+import com.secureauth.repository.SequenceIdAllocator;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * A refresh token. Only a hash of the token is stored; every token issued by rotating
+ * another one shares its family ID, so a reused token can revoke the whole chain.
+ */
+@Entity
+@Table(name = "auth_tokens", indexes = {
+        @Index(name = "idx_auth_tokens_family_id", columnList = "family_id"),
+        @Index(name = "idx_auth_tokens_user_id", columnList = "user_id"),
+        @Index(name = "idx_auth_tokens_expiry_date_id", columnList = "expiry_date, id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuthToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "auth_tokens_seq")
+    @SequenceGenerator(name = "auth_tokens_seq", sequenceName = "auth_tokens_seq", allocationSize = SequenceIdAllocator.ALLOCATION_SIZE)
+    private Long id;
+
+    /**
+     * SHA-256 of the token, Base64url encoded. The unique constraint doubles as the lookup index.
+     */
+    @Column(name = "token_hash", nullable = false, unique = true, length = 43)
+    private String tokenHash;
+
+    @Column(name = "family_id", nullable = false, length = 36)
+    private String familyId;
+
+    @Column(name = "expiry_date", nullable = false)
+    private Instant expiryDate; // تاریخ انقضا توکن
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(nullable = false)
+    private boolean revoked = false; // مشخص می‌کند آیا توکن لغو شده است یا نه
+}
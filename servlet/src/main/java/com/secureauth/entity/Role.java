@@ -1,15 +1,23 @@
 package com.secureauth.entity;
 
 import com.secureauth.entity.enums.RoleType;
+import com.secureauth.repository.SequenceIdAllocator;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Immutable;
 import org.springframework.security.core.GrantedAuthority;
 
 /**
  * Represents a user role entity that implements GrantedAuthority for Spring Security.
+ * Roles are never updated, so they are mapped immutable and cached read-only.
  */
 @Entity
 @Table(name = "roles")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY)
+@Immutable
 @Getter
 @Setter
 @NoArgsConstructor
@@ -17,7 +25,8 @@ import org.springframework.security.core.GrantedAuthority;
 public class Role implements GrantedAuthority {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "roles_seq")
+    @SequenceGenerator(name = "roles_seq", sequenceName = "roles_seq", allocationSize = SequenceIdAllocator.ALLOCATION_SIZE)
     private Long id;
 
     @Enumerated(EnumType.STRING)
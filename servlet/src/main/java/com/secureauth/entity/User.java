@@ -0,0 +1,62 @@
+package com.secureauth.entity;
+
+import com.secureauth.repository.SequenceIdAllocator;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+
+import java.util.Set;
+
+/**
+ * An account. Cached in the second-level cache and resolvable by its natural ID, the username.
+ */
+@Entity
+@Table(name = "users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@NaturalIdCache
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class User {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = SequenceIdAllocator.ALLOCATION_SIZE)
+    private Long id;
+
+    @NaturalId
+    @Column(unique = true, nullable = false)
+    private String username;
+
+    @Column(nullable = false)
+    private String password; // هش‌شده
+
+    /**
+     * Incremented whenever the password or roles change, invalidating tokens issued before.
+     */
+    @Column(nullable = false)
+    private long securityVersion;
+
+    /**
+     * Optimistic lock. A node writing back a user it read from a stale cache entry fails
+     * instead of undoing a change made elsewhere; bulk and native updates increment it too.
+     */
+    @Version
+    @Column(nullable = false)
+    private long version;
+
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+    @ManyToMany(fetch = FetchType.EAGER)
+    @JoinTable(name = "user_roles",
+            joinColumns = @JoinColumn(name = "user_id"),
+            inverseJoinColumns = @JoinColumn(name = "role_id"))
+    private Set<Role> roles;
+
+    @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
+    private Set<AuthToken> tokens;
+}
@@ -4,11 +4,14 @@ import io.jsonwebtoken.JwtException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authorization.AuthorizationDeniedException;
 import org.springframework.security.core.AuthenticationException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -33,7 +36,7 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(JwtException.class)
     public ResponseEntity<ErrorResponseDto> handleJwtException(JwtException ex) {
-        log.error("JWT error: {}", ex.getMessage());
+        log.debug("JWT error: {}", ex.getMessage());
         ErrorResponseDto responseDto = new ErrorResponseDto(ErrorCode.UNAUTHORIZED.getCode(), "Invalid or expired token");
         return new ResponseEntity<>(responseDto, HttpStatus.UNAUTHORIZED);
     }
@@ -46,7 +49,7 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(AuthenticationException.class)
     public ResponseEntity<ErrorResponseDto> handleAuthenticationException(AuthenticationException ex) {
-        log.error("Authentication error: {}", ex.getMessage());
+        log.debug("Authentication error: {}", ex.getMessage());
         ErrorResponseDto responseDto = new ErrorResponseDto(ErrorCode.UNAUTHORIZED.getCode(), "Authentication failed");
         return new ResponseEntity<>(responseDto, HttpStatus.UNAUTHORIZED);
     }
@@ -68,13 +71,49 @@ public class GlobalExceptionHandler {
      * Handles custom application exceptions.
      *
      * @param ex the CustomException
-     * @return an error response with the specified error code and message
+     * @return an error response with the specified error code and message; error codes that are
+     * HTTP error statuses (e.g. 503) are used as the status, everything else is a 400
      */
     @ExceptionHandler(CustomException.class)
     public ResponseEntity<ErrorResponseDto> handleCustomException(CustomException ex) {
-        log.error("Custom exception: {}", ex.getMessage());
         ErrorResponseDto responseDto = new ErrorResponseDto(ex.getErrorCode(), ex.getMessage());
-        return new ResponseEntity<>(responseDto, HttpStatus.BAD_REQUEST);
+        HttpStatus status = HttpStatus.resolve(ex.getErrorCode());
+        if (status == null || !status.isError()) {
+            status = HttpStatus.BAD_REQUEST;
+        }
+        // Client errors such as failed sign-ins are frequent and already in the access log
+        if (status.is5xxServerError()) {
+            log.error("Custom exception: {}", ex.getMessage());
+        } else {
+            log.debug("Custom exception: {}", ex.getMessage());
+        }
+        return new ResponseEntity<>(responseDto, status);
+    }
+
+    /**
+     * Handles clients that exceeded a rate limit.
+     *
+     * @param ex the RateLimitExceededException
+     * @return an error response with 429 status and the {@code Retry-After} and {@code RateLimit-*} headers
+     */
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<ErrorResponseDto> handleRateLimitExceeded(RateLimitExceededException ex) {
+        log.debug("Rate limit exceeded: {}", ex.getMessage());
+        ErrorResponseDto responseDto = new ErrorResponseDto(ex.getErrorCode(), ex.getMessage());
+        return new ResponseEntity<>(responseDto, ex.getHeaders(), HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    /**
+     * Handles revocations that could not reach Redis yet and are being retried.
+     *
+     * @param ex the RevocationPendingException
+     * @return an error response with 503 status
+     */
+    @ExceptionHandler(RevocationPendingException.class)
+    public ResponseEntity<ErrorResponseDto> handleRevocationPending(RevocationPendingException ex) {
+        log.warn("Revocation pending: {}", ex.getMessage());
+        ErrorResponseDto responseDto = new ErrorResponseDto(ex.getErrorCode(), ex.getMessage());
+        return new ResponseEntity<>(responseDto, HttpStatus.SERVICE_UNAVAILABLE);
     }
 
     /**
@@ -139,6 +178,34 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(responseDto, HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * Handles a write that lost a race with a concurrent change to the same entity.
+     *
+     * @param ex the OptimisticLockingFailureException
+     * @return an error response with 409 status
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponseDto> handleOptimisticLockingFailure(OptimisticLockingFailureException ex) {
+        log.debug("Concurrent modification: {}", ex.getMessage());
+        ErrorResponseDto responseDto = new ErrorResponseDto(ErrorCode.CONFLICT.getCode(),
+                "The account was modified concurrently, please retry.");
+        return new ResponseEntity<>(responseDto, HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Handles a database or Redis that cannot be reached or has no free connection.
+     *
+     * @param ex the exception
+     * @return an error response with 503 status
+     */
+    @ExceptionHandler({DataAccessResourceFailureException.class, CannotCreateTransactionException.class})
+    public ResponseEntity<ErrorResponseDto> handleResourceFailure(Exception ex) {
+        log.error("Backing store unavailable: {}", ex.getMessage());
+        ErrorResponseDto responseDto = new ErrorResponseDto(ErrorCode.SERVICE_UNAVAILABLE.getCode(),
+                "Service temporarily unavailable, please retry shortly.");
+        return new ResponseEntity<>(responseDto, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
     /**
      * Handles token blacklist exceptions from filter.
      *
@@ -0,0 +1,27 @@
+package com.secureauth.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpHeaders;
+
+/**
+ * Thrown when a client has used up its quota for an operation.
+ */
+@Getter
+public class RateLimitExceededException extends CustomException {
+    /**
+     * -- GETTER --
+     *  Returns the {@code Retry-After} and {@code RateLimit-*} headers to send with the 429.
+     */
+    private final HttpHeaders headers;
+
+    /**
+     * Constructs a new RateLimitExceededException.
+     *
+     * @param message the detail message
+     * @param headers the rate limit headers
+     */
+    public RateLimitExceededException(String message, HttpHeaders headers) {
+        super(message, ErrorCode.TOO_MANY_REQUESTS.getCode());
+        this.headers = headers;
+    }
+}
@@ -0,0 +1,19 @@
+package com.secureauth.exception;
+
+/**
+ * Thrown when tokens could not be revoked in Redis right away.
+ * The revocation is retried in the background; until it lands, access tokens issued
+ * before it keep working on nodes that have not heard of it.
+ */
+public class RevocationPendingException extends CustomException {
+
+    /**
+     * Constructs a new RevocationPendingException.
+     *
+     * @param message the detail message
+     * @param cause   the Redis failure
+     */
+    public RevocationPendingException(String message, Throwable cause) {
+        super(message, ErrorCode.REVOCATION_PENDING.getCode(), cause);
+    }
+}
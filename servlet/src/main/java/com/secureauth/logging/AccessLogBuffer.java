@@ -0,0 +1,171 @@
+package com.secureauth.logging;
+
+import com.secureauth.metrics.AuthMetrics.FilterOutcome;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+
+/**
+ * A bounded ring buffer of access log entries, written by request threads and drained by
+ * a single writer.
+ *
+ * <p>The slots are allocated up front and reused, so recording a request copies a few
+ * references and numbers and allocates nothing. Producers claim a slot with a CAS on the
+ * tail and publish it through the slot's sequence number; the consumer frees it the same
+ * way. When the buffer is full, {@link #offer} drops the entry instead of blocking the
+ * request.</p>
+ */
+public class AccessLogBuffer {
+
+    private final Entry[] slots;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private long head;
+
+    /**
+     * @param capacity the number of entries held, rounded up to a power of two
+     */
+    public AccessLogBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        this.slots = new Entry[size];
+        this.sequences = new AtomicLongArray(size);
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            slots[i] = new Entry();
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Adds an entry unless the buffer is full. Safe to call from any thread.
+     *
+     * @param timestamp      the epoch millis at which the request finished
+     * @param method         the HTTP method
+     * @param path           the request URI
+     * @param status         the response status
+     * @param durationMicros the time spent handling the request
+     * @param outcome        how the JWT filter handled the request, or null if it did not run
+     * @param tokenId        the ID of the presented token, or null
+     * @param client         the client address
+     * @return false if the entry was dropped
+     */
+    public boolean offer(long timestamp, String method, String path, int status, long durationMicros,
+                         FilterOutcome outcome, String tokenId, String client) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.getAcquire(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    break;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+        int index = (int) (position & mask);
+        Entry entry = slots[index];
+        entry.timestamp = timestamp;
+        entry.method = method;
+        entry.path = path;
+        entry.status = status;
+        entry.durationMicros = durationMicros;
+        entry.outcome = outcome;
+        entry.tokenId = tokenId;
+        entry.client = client;
+        sequences.setRelease(index, position + 1);
+        return true;
+    }
+
+    /**
+     * Hands every published entry to {@code consumer} and frees its slot. Must only be
+     * called by one thread at a time. The entry is only valid during the call.
+     *
+     * @param consumer receives the entries in the order their slots were claimed
+     * @return the number of entries drained
+     */
+    public int drain(Consumer<Entry> consumer) {
+        int drained = 0;
+        while (true) {
+            int index = (int) (head & mask);
+            if (sequences.getAcquire(index) != head + 1) {
+                return drained;
+            }
+            Entry entry = slots[index];
+            try {
+                consumer.accept(entry);
+            } finally {
+                // Do not keep request strings reachable until the slot is reused
+                entry.method = null;
+                entry.path = null;
+                entry.outcome = null;
+                entry.tokenId = null;
+                entry.client = null;
+                sequences.setRelease(index, head + slots.length);
+                head++;
+                drained++;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of entries the buffer holds.
+     *
+     * @return the capacity
+     */
+    public int capacity() {
+        return slots.length;
+    }
+
+    /**
+     * A recorded request. Instances are reused; read them only inside {@link #drain}.
+     */
+    public static final class Entry {
+
+        private long timestamp;
+        private String method;
+        private String path;
+        private int status;
+        private long durationMicros;
+        private FilterOutcome outcome;
+        private String tokenId;
+        private String client;
+
+        public long timestamp() {
+            return timestamp;
+        }
+
+        public String method() {
+            return method;
+        }
+
+        public String path() {
+            return path;
+        }
+
+        public int status() {
+            return status;
+        }
+
+        public long durationMicros() {
+            return durationMicros;
+        }
+
+        public FilterOutcome outcome() {
+            return outcome;
+        }
+
+        public String tokenId() {
+            return tokenId;
+        }
+
+        public String client() {
+            return client;
+        }
+    }
+}
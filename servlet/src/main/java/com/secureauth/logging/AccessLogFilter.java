@@ -0,0 +1,154 @@
+package com.secureauth.logging;
+
+import com.secureauth.metrics.AuthMetrics;
+import com.secureauth.metrics.AuthMetrics.FilterOutcome;
+import com.secureauth.security.JwtAuthFilter;
+import com.secureauth.security.TokenFingerprint;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes one structured line per request to the {@code access} logger, off the request thread.
+ *
+ * <p>The request thread only decides whether to sample the request and copies its fields
+ * into an {@link AccessLogBuffer}; a background writer drains the buffer every
+ * {@code access-log.flush-interval-ms}, formats the lines and hands them to the logger.
+ * Responses below 400 are sampled at {@code access-log.sample-rate} and 4xx responses at
+ * {@code access-log.client-error-sample-rate}; 5xx responses are always written. Each line
+ * carries its sample rate so counts can be scaled back up. If the writer falls behind,
+ * entries are dropped and counted in {@code auth.accesslog.dropped} rather than slowing
+ * requests down. Tokens appear only as a {@link TokenFingerprint} of their ID.</p>
+ *
+ * <p>Lines are in logfmt, for example
+ * {@code at=2025-01-01T12:00:00.123Z method=POST path=/v1/auth/signOut status=200 duration_us=2140 auth=ok token=4f1c2a9be0 client=10.0.0.7 sample=0.1}.
+ * Set {@code logging.level.access=warn} or {@code access-log.enabled=false} to turn them off.</p>
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    private static final Logger accessLog = LoggerFactory.getLogger("access");
+    private static final Logger log = LoggerFactory.getLogger(AccessLogFilter.class);
+
+    private final AuthMetrics metrics;
+    private final boolean enabled;
+    private final double sampleRate;
+    private final double clientErrorSampleRate;
+    private final AccessLogBuffer buffer;
+    private final ScheduledExecutorService writer;
+    private final StringBuilder line = new StringBuilder(256);
+
+    public AccessLogFilter(AuthMetrics metrics,
+                           @Value("${access-log.enabled:true}") boolean enabled,
+                           @Value("${access-log.sample-rate:0.1}") double sampleRate,
+                           @Value("${access-log.client-error-sample-rate:1.0}") double clientErrorSampleRate,
+                           @Value("${access-log.buffer-size:8192}") int bufferSize,
+                           @Value("${access-log.flush-interval-ms:200}") long flushIntervalMillis) {
+        this.metrics = metrics;
+        this.enabled = enabled;
+        this.sampleRate = sampleRate;
+        this.clientErrorSampleRate = clientErrorSampleRate;
+        this.buffer = new AccessLogBuffer(bufferSize);
+        this.writer = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("access-log-writer").daemon().factory());
+        if (enabled) {
+            this.writer.scheduleWithFixedDelay(this::flush, flushIntervalMillis, flushIntervalMillis,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !accessLog.isInfoEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            record(request, response.getStatus(), start);
+        }
+    }
+
+    private void record(HttpServletRequest request, int status, long startNanos) {
+        double rate = sampleRate(status);
+        if (rate < 1 && ThreadLocalRandom.current().nextDouble() >= rate) {
+            return;
+        }
+        boolean added = buffer.offer(System.currentTimeMillis(), request.getMethod(), request.getRequestURI(),
+                status, (System.nanoTime() - startNanos) / 1000,
+                (FilterOutcome) request.getAttribute(JwtAuthFilter.OUTCOME_ATTRIBUTE),
+                (String) request.getAttribute(JwtAuthFilter.TOKEN_ID_ATTRIBUTE),
+                request.getRemoteAddr());
+        if (!added) {
+            metrics.countAccessLogDropped();
+        }
+    }
+
+    private double sampleRate(int status) {
+        if (status >= 500) {
+            return 1;
+        }
+        return status >= 400 ? clientErrorSampleRate : sampleRate;
+    }
+
+    /**
+     * Writes everything recorded so far. Runs on the writer thread, and once more on shutdown.
+     */
+    void flush() {
+        try {
+            buffer.drain(this::write);
+        } catch (RuntimeException e) {
+            log.warn("Failed to write access log: {}", e.getMessage());
+        }
+    }
+
+    private void write(AccessLogBuffer.Entry entry) {
+        line.setLength(0);
+        line.append("at=").append(Instant.ofEpochMilli(entry.timestamp()))
+                .append(" method=").append(entry.method())
+                .append(" path=").append(entry.path())
+                .append(" status=").append(entry.status())
+                .append(" duration_us=").append(entry.durationMicros())
+                .append(" auth=").append(entry.outcome() == null ? "-" : entry.outcome().name().toLowerCase(Locale.ROOT))
+                .append(" token=").append(TokenFingerprint.of(entry.tokenId()))
+                .append(" client=").append(entry.client())
+                .append(" sample=").append(sampleRate(entry.status()));
+        accessLog.info(line.toString());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        writer.shutdown();
+        try {
+            // The buffer has a single consumer, so only drain it here once the writer is done
+            if (writer.awaitTermination(5, TimeUnit.SECONDS)) {
+                flush();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.secureauth.repository;
+
+import com.secureauth.entity.AuthToken;
+import com.secureauth.entity.enums.RoleType;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+/**
+ * Repository for managing refresh tokens.
+ */
+public interface AuthTokenRepository extends JpaRepository<AuthToken, Long> {
+
+    /**
+     * Finds a refresh token by its hash and locks the row, so concurrent rotations of one token serialize.
+     *
+     * @param tokenHash the token hash
+     * @return an Optional containing the token, if found
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<AuthToken> findByTokenHash(String tokenHash);
+
+    /**
+     * Revokes every token of a family.
+     *
+     * @param familyId the family ID
+     * @return the number of tokens revoked
+     */
+    @Modifying
+    @Query("update AuthToken t set t.revoked = true where t.familyId = :familyId and t.revoked = false")
+    int revokeFamily(@Param("familyId") String familyId);
+
+    /**
+     * Revokes every token of a user.
+     *
+     * @param userId the user ID
+     * @return the number of tokens revoked
+     */
+    @Modifying
+    @Query("update AuthToken t set t.revoked = true where t.user.id = :userId and t.revoked = false")
+    int revokeAllForUser(@Param("userId") Long userId);
+
+    /**
+     * Revokes every token of the users holding a role.
+     *
+     * @param role the role
+     * @return the number of tokens revoked
+     */
+    @Modifying
+    @Query("update AuthToken t set t.revoked = true where t.revoked = false "
+            + "and t.user.id in (select u.id from User u join u.roles r where r.name = :role)")
+    int revokeAllForRole(@Param("role") RoleType role);
+}
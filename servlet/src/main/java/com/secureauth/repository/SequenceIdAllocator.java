@@ -0,0 +1,58 @@
+package com.secureauth.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Reserves primary keys from the entity sequences for inserts that bypass Hibernate.
+ *
+ * <p>The sequences back Hibernate's pooled optimizer, where a {@code nextval} returning
+ * {@code v} hands its caller the block {@code [v - ALLOCATION_SIZE + 1, v]}. Reserving IDs
+ * the same way keeps JDBC batch inserts and Hibernate inserts from ever colliding.</p>
+ */
+@Repository
+public class SequenceIdAllocator {
+
+    /**
+     * The {@code allocationSize} of every entity sequence generator; the two must match.
+     */
+    public static final int ALLOCATION_SIZE = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SequenceIdAllocator(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Reserves at least {@code count} IDs in a single round trip.
+     *
+     * @param sequence the sequence name, e.g. {@code users_seq}
+     * @param count    the number of IDs needed
+     * @return exactly {@code count} unused IDs in ascending block order
+     */
+    public long[] allocate(String sequence, int count) {
+        long[] ids = new long[count];
+        if (count == 0) {
+            return ids;
+        }
+        int blocks = (count + ALLOCATION_SIZE - 1) / ALLOCATION_SIZE;
+        List<Long> highValues = jdbcTemplate.queryForList(
+                "select nextval(cast(? as regclass)) from generate_series(1, ?)", Long.class, sequence, blocks);
+        int i = 0;
+        for (long high : highValues) {
+            // The first call on a fresh sequence returns 1 and owns only that value.
+            for (long id = Math.max(1, high - ALLOCATION_SIZE + 1); id <= high && i < count; id++) {
+                ids[i++] = id;
+            }
+        }
+        if (i < count) {
+            // Only a fresh sequence yields a short block; top up with one more round.
+            long[] rest = allocate(sequence, count - i);
+            System.arraycopy(rest, 0, ids, i, rest.length);
+        }
+        return ids;
+    }
+}
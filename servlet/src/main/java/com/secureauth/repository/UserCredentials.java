@@ -0,0 +1,25 @@
+package com.secureauth.repository;
+
+import com.secureauth.entity.enums.RoleType;
+
+/**
+ * Projection of the columns authentication needs, one row per role of the user.
+ */
+public interface UserCredentials {
+
+    Long getId();
+
+    String getUsername();
+
+    /**
+     * @return the password hash
+     */
+    String getPassword();
+
+    long getSecurityVersion();
+
+    /**
+     * @return one of the user's roles, or null if the user has none
+     */
+    RoleType getRole();
+}
@@ -0,0 +1,21 @@
+package com.secureauth.repository;
+
+import com.secureauth.entity.User;
+
+import java.util.Optional;
+
+/**
+ * Looks users up by their natural ID, the username.
+ */
+public interface UserNaturalIdRepository {
+
+    /**
+     * Finds a user by username. The username is resolved to an ID through the natural-id
+     * cache and the user is then loaded through the second-level cache, so a cached user
+     * is found without a query.
+     *
+     * @param username the username
+     * @return an Optional containing the user, if found
+     */
+    Optional<User> findByUsername(String username);
+}
@@ -0,0 +1,28 @@
+package com.secureauth.repository;
+
+import com.secureauth.entity.User;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Implements {@link UserNaturalIdRepository} with Hibernate's natural-id API, which
+ * derived queries do not use. Callers modify and save the returned user, so unlike
+ * {@link UserRepository#findCredentialsByUsername(String)} this must not run read-only.
+ */
+class UserNaturalIdRepositoryImpl implements UserNaturalIdRepository {
+
+    private final EntityManager entityManager;
+
+    UserNaturalIdRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    @Transactional
+    public Optional<User> findByUsername(String username) {
+        return entityManager.unwrap(Session.class).bySimpleNaturalId(User.class).loadOptional(username);
+    }
+}
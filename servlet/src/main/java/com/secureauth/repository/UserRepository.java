@@ -0,0 +1,69 @@
+package com.secureauth.repository;
+
+import com.secureauth.entity.User;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for managing User entities.
+ */
+public interface UserRepository extends JpaRepository<User, Long>, UserNaturalIdRepository {
+
+    /**
+     * Finds what authenticating a user needs, without loading the entity into the persistence
+     * context. Runs in a read-only transaction, which Postgres opens as {@code READ ONLY}.
+     *
+     * @param username the username
+     * @return one row per role of the user, a single row with a null role if it has none, empty if it does not exist
+     */
+    @Transactional(readOnly = true)
+    @Query("select u.id as id, u.username as username, u.password as password, "
+            + "u.securityVersion as securityVersion, r.name as role "
+            + "from User u left join u.roles r where u.username = :username")
+    List<UserCredentials> findCredentialsByUsername(@Param("username") String username);
+
+    /**
+     * Same as {@link #findCredentialsByUsername(String)}, but always read from the primary.
+     * For results that are cached, where a lagging replica could put back a state an
+     * eviction just removed.
+     *
+     * @param username the username
+     * @return one row per role of the user, a single row with a null role if it has none, empty if it does not exist
+     */
+    @Transactional
+    @Query("select u.id as id, u.username as username, u.password as password, "
+            + "u.securityVersion as securityVersion, r.name as role "
+            + "from User u left join u.roles r where u.username = :username")
+    List<UserCredentials> findPrimaryCredentialsByUsername(@Param("username") String username);
+
+    /**
+     * Replaces a password hash, unless the password was changed since it was read.
+     *
+     * @param id          the user ID
+     * @param oldPassword the hash that was read
+     * @param newPassword the new hash
+     * @return the number of users updated, 0 or 1
+     */
+    @Transactional
+    @Modifying
+    @Query("update User u set u.password = :newPassword, u.version = u.version + 1 "
+            + "where u.id = :id and u.password = :oldPassword")
+    int updatePassword(@Param("id") Long id,
+                       @Param("oldPassword") String oldPassword,
+                       @Param("newPassword") String newPassword);
+
+    /**
+     * Finds the security version of a user without loading the entity.
+     *
+     * @param username the username
+     * @return an Optional containing the security version, if the user exists
+     */
+    @Query("select u.securityVersion from User u where u.username = :username")
+    Optional<Long> findSecurityVersionByUsername(@Param("username") String username);
+}
\ No newline at end of file
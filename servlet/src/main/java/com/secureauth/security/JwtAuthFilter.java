@@ -0,0 +1,182 @@
+package com.secureauth.security;
+
+import com.secureauth.metrics.AuthMetrics;
+import com.secureauth.metrics.AuthMetrics.FilterOutcome;
+import com.secureauth.metrics.AuthMetrics.FilterStage;
+import com.secureauth.service.SecurityVersionService;
+import com.secureauth.service.TokenBlacklistService;
+import com.secureauth.service.TokenGenerationService;
+import io.jsonwebtoken.JwtException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+@Slf4j
+public class JwtAuthFilter extends OncePerRequestFilter {
+
+    /**
+     * Request attribute holding the {@link FilterOutcome} of the request, for the access log.
+     */
+    public static final String OUTCOME_ATTRIBUTE = JwtAuthFilter.class.getName() + ".outcome";
+
+    /**
+     * Request attribute holding the ID of the presented token, for the access log.
+     */
+    public static final String TOKEN_ID_ATTRIBUTE = JwtAuthFilter.class.getName() + ".tokenId";
+
+    private final JwtTokenProvider jwtUtil;
+    private final UserDetailsService userDetailsService;
+    private final TokenBlacklistService tokenBlacklistService;
+    private final SecurityVersionService securityVersionService;
+    private final TokenGenerationService tokenGenerationService;
+    private final AuthMetrics metrics;
+    private final boolean statelessPrincipal;
+
+    public JwtAuthFilter(JwtTokenProvider jwtUtil,
+                         @Lazy UserDetailsService userDetailsService,
+                         TokenBlacklistService tokenBlacklistService,
+                         SecurityVersionService securityVersionService,
+                         TokenGenerationService tokenGenerationService,
+                         AuthMetrics metrics,
+                         @Value("${jwt.stateless-principal:false}") boolean statelessPrincipal) {
+        this.jwtUtil = jwtUtil;
+        this.userDetailsService = userDetailsService;
+        this.tokenBlacklistService = tokenBlacklistService;
+        this.securityVersionService = securityVersionService;
+        this.tokenGenerationService = tokenGenerationService;
+        this.metrics = metrics;
+        this.statelessPrincipal = statelessPrincipal;
+    }
+
+    /**
+     * Processes each request to validate JWT token and check if it's blacklisted
+     *
+     * @param request     the HTTP request * @param response the HTTP response
+     * @param filterChain the filter chain
+     */
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        long start = System.nanoTime();
+        String authHeader = request.getHeader("Authorization");
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            metrics.recordStage(FilterStage.HEADER, start);
+            metrics.recordFilter(FilterOutcome.ANONYMOUS, start);
+            request.setAttribute(OUTCOME_ATTRIBUTE, FilterOutcome.ANONYMOUS);
+            filterChain.doFilter(request, response);
+            return;
+        }
+        String token = authHeader.substring(7);
+        long stageStart = metrics.recordStage(FilterStage.HEADER, start);
+        FilterOutcome outcome = FilterOutcome.INVALID;
+        try {
+            VerifiedToken verified = jwtUtil.verify(token);
+            request.setAttribute(TOKEN_ID_ATTRIBUTE, verified.tokenId());
+            stageStart = metrics.recordStage(FilterStage.VERIFY, stageStart);
+            // Check if token is blacklisted; uncached token generations are read in the same round trip
+            List<String> generationKeys = tokenGenerationService.uncachedKeys(verified);
+            Map<String, String> generations = generationKeys.isEmpty() ? Map.of() : new HashMap<>();
+            boolean blacklisted = tokenBlacklistService.isTokenBlacklisted(verified.tokenId(), generationKeys, generations);
+            if (blacklisted) {
+                metrics.recordStage(FilterStage.BLACKLIST, stageStart);
+                if (log.isDebugEnabled()) {
+                    log.debug("Token {} is blacklisted, sending error response", TokenFingerprint.of(verified.tokenId()));
+                }
+                outcome = FilterOutcome.BLACKLISTED;
+                response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Token is blacklisted");
+                return;
+                //  اطمینان از توقف کامل پردازش
+            }
+            boolean currentGeneration = tokenGenerationService.isCurrent(verified, generations);
+            stageStart = metrics.recordStage(FilterStage.BLACKLIST, stageStart);
+            if (!currentGeneration) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Token {} generation is revoked, sending error response",
+                            TokenFingerprint.of(verified.tokenId()));
+                }
+                outcome = FilterOutcome.STALE;
+                response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Token is no longer valid");
+                return;
+            }
+            String username = verified.username();
+            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                UsernamePasswordAuthenticationToken authToken = null;
+                if (statelessPrincipal && verified.isSelfContained()) {
+                    // Build the principal from the token; only the security version is checked.
+                    boolean current = securityVersionService.isCurrent(username, verified.securityVersion());
+                    metrics.recordStage(FilterStage.SECURITY_VERSION, stageStart);
+                    if (!current) {
+                        if (log.isDebugEnabled()) {
+                            log.debug("Token {} security version is stale, sending error response",
+                                    TokenFingerprint.of(verified.tokenId()));
+                        }
+                        outcome = FilterOutcome.STALE;
+                        response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Token is no longer valid");
+                        return;
+                    }
+                    UserDetails principal = new User(username, "", verified.authorities());
+                    authToken = new UsernamePasswordAuthenticationToken(principal, null, verified.authorities());
+                } else {
+                    UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                    metrics.recordStage(FilterStage.LOAD_USER, stageStart);
+                    if (jwtUtil.isValid(verified, userDetails)) {
+                        authToken = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                    }
+                }
+                if (authToken != null) {
+                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(authToken);
+                    log.debug("Authentication set for user: {}", username);
+                }
+            }
+            outcome = FilterOutcome.OK;
+        } catch (RedisConnectionFailureException e) {
+            log.error("Redis connection failed during token validation: {}", e.getMessage(), e);
+            outcome = FilterOutcome.REDIS_FAILURE;
+            if (!response.isCommitted()) {
+                response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Service unavailable due to Redis failure");
+            }
+            return;
+        } catch (JwtException e) {
+            // Expected for expired and forged tokens; a stack trace per request would be costly
+            log.debug("Rejected invalid token: {}", e.getMessage());
+            if (!response.isCommitted()) {
+                response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Invalid token");
+            }
+            return;
+        } catch (Exception e) {
+            log.error("Unexpected error during token validation: {}", e.getMessage(), e);
+
+            //  مدیریت همه استثناها
+            if (!response.isCommitted()) {
+                response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Invalid token");
+            }
+            return;
+        } finally {
+            // Only the filter's own work is timed, not the rest of the chain.
+            metrics.recordFilter(outcome, start);
+            request.setAttribute(OUTCOME_ATTRIBUTE, outcome);
+        }
+        filterChain.doFilter(request, response);
+    }
+}
\ No newline at end of file
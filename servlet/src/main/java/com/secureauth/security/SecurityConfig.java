@@ -1,5 +1,6 @@
 package com.secureauth.security;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Lazy;
@@ -21,15 +22,20 @@ public class SecurityConfig {
     private final JwtAuthFilter jwtAuthFilter;
     private final UserDetailsService userDetailsService;
     private final JwtAuthEntryPoint jwtAuthEntryPoint;
+    private final int managementPort;
 
-    public SecurityConfig(JwtAuthFilter jwtAuthFilter, @Lazy UserDetailsService userDetailsService, JwtAuthEntryPoint jwtAuthEntryPoint) {
+    public SecurityConfig(JwtAuthFilter jwtAuthFilter, @Lazy UserDetailsService userDetailsService, JwtAuthEntryPoint jwtAuthEntryPoint,
+                          @Value("${management.server.port:-1}") int managementPort) {
         this.jwtAuthFilter = jwtAuthFilter;
         this.userDetailsService = userDetailsService;
         this.jwtAuthEntryPoint = jwtAuthEntryPoint;
+        this.managementPort = managementPort;
     }
 
     /**
      * Configures HTTP security, including CSRF, session management, and request authorization.
+     * Actuator endpoints other than health are only open on the separate management port,
+     * which is not published outside the deployment; on the application port they need a token.
      *
      * @param http the HttpSecurity to configure * @return the configured SecurityFilterChain
      * @throws Exception if configuration fails
@@ -40,9 +46,16 @@ public class SecurityConfig {
                 .csrf(csrf -> csrf.disable())
                 .sessionManagement(sess -> sess.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        .requestMatchers(request -> managementPort > 0 && request.getLocalPort() == managementPort)
+                        .permitAll()
                         .requestMatchers(
                                 "/v1/auth/signUp",
                                 "/v1/auth/signIn",
+                                "/v1/auth/refresh",
+                                // Error dispatches carry the status the filter chose, e.g. 503 on a Redis outage
+                                "/error",
+                                "/.well-known/jwks.json",
+                                "/actuator/health",
                                 "/swagger-ui.html",
                                 "/swagger-ui/**",
                                 "/v3/api-docs/**",
@@ -65,7 +78,7 @@ public class SecurityConfig {
      * @return the BCryptPasswordEncoder
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(BCryptCostCalibrator costCalibrator) {
+        return new BCryptPasswordEncoder(costCalibrator.getStrength());
     }
 }
\ No newline at end of file
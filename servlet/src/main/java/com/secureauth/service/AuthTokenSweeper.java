@@ -0,0 +1,215 @@
+package com.secureauth.service;
+
+import com.secureauth.metrics.AuthMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deletes expired refresh tokens from {@code auth_tokens} in small batches.
+ *
+ * <p>A single large {@code DELETE} would hold row locks on the whole expired range and
+ * leave it as dead tuples in one go. Instead each batch deletes at most a few hundred
+ * rows in its own transaction, walking the {@code (expiry_date, id)} index with a keyset
+ * cursor, so no batch rescans the index entries its predecessors left dead. Rows locked
+ * by a concurrent rotation are skipped and picked up by the next run.</p>
+ *
+ * <p>The sweeper throttles itself: after each batch it pauses for a multiple of the
+ * time the batch took, and it halves the batch size whenever a batch is slower than
+ * the target. A loaded database therefore sees fewer and smaller deletes. Only the
+ * node holding a Postgres advisory lock sweeps; the others skip the run.</p>
+ */
+@Component
+public class AuthTokenSweeper {
+
+    private static final Logger log = LoggerFactory.getLogger(AuthTokenSweeper.class);
+
+    /**
+     * Advisory lock key shared by every node, the ASCII of "authswep".
+     */
+    private static final long ADVISORY_LOCK_KEY = 0x6175746873776570L;
+
+    private static final String DELETE_BATCH = """
+            with batch as (
+                select id from auth_tokens
+                where (expiry_date, id) > (?, ?) and expiry_date < ?
+                order by expiry_date, id
+                limit ?
+                for update skip locked
+            )
+            delete from auth_tokens t using batch where t.id = batch.id
+            returning t.expiry_date, t.id""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AuthMetrics metrics;
+    private final boolean enabled;
+    private final int maxBatchSize;
+    private final int minBatchSize;
+    private final long targetBatchMillis;
+    private final double pauseRatio;
+    private final long maxRunMillis;
+
+    public AuthTokenSweeper(JdbcTemplate jdbcTemplate,
+                            AuthMetrics metrics,
+                            @Value("${auth-tokens.sweeper.enabled:true}") boolean enabled,
+                            @Value("${auth-tokens.sweeper.batch-size:500}") int maxBatchSize,
+                            @Value("${auth-tokens.sweeper.min-batch-size:50}") int minBatchSize,
+                            @Value("${auth-tokens.sweeper.target-batch-ms:100}") long targetBatchMillis,
+                            @Value("${auth-tokens.sweeper.pause-ratio:1.0}") double pauseRatio,
+                            @Value("${auth-tokens.sweeper.max-run-ms:60000}") long maxRunMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.metrics = metrics;
+        this.enabled = enabled;
+        this.maxBatchSize = maxBatchSize;
+        this.minBatchSize = Math.min(minBatchSize, maxBatchSize);
+        this.targetBatchMillis = targetBatchMillis;
+        this.pauseRatio = pauseRatio;
+        this.maxRunMillis = maxRunMillis;
+    }
+
+    /**
+     * Deletes the refresh tokens that expired before the run started.
+     */
+    @Scheduled(fixedDelayString = "${auth-tokens.sweeper.interval-ms:300000}",
+            initialDelayString = "${auth-tokens.sweeper.interval-ms:300000}")
+    public void sweep() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            Integer purged = jdbcTemplate.execute((ConnectionCallback<Integer>) this::sweepLocked);
+            metrics.recordTokenSweep(true, start);
+            if (purged != null && purged > 0) {
+                log.info("Purged {} expired refresh tokens in {} ms", purged, (System.nanoTime() - start) / 1_000_000);
+            }
+        } catch (DataAccessException e) {
+            metrics.recordTokenSweep(false, start);
+            log.warn("Refresh token sweep failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Runs the sweep on one connection, which holds the advisory lock for the whole run.
+     *
+     * @param connection the connection, committed after every batch
+     * @return the number of rows deleted, or null if another node holds the lock
+     */
+    private Integer sweepLocked(Connection connection) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        if (!advisoryLock(connection, "select pg_try_advisory_lock(?)")) {
+            log.debug("Another node is sweeping refresh tokens");
+            connection.commit();
+            connection.setAutoCommit(autoCommit);
+            return null;
+        }
+        try {
+            Timestamp cutoff = Timestamp.from(Instant.now());
+            int purged = deleteExpired(connection, cutoff);
+            metrics.setTokenSweepLag(lagSeconds(connection, cutoff));
+            return purged;
+        } catch (SQLException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            // Session-level lock: it outlives the transactions and must be released before the connection goes back.
+            advisoryLock(connection, "select pg_advisory_unlock(?)");
+            connection.commit();
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    private int deleteExpired(Connection connection, Timestamp cutoff) throws SQLException {
+        Timestamp afterExpiry = new Timestamp(0);
+        long afterId = 0;
+        int batchSize = maxBatchSize;
+        int purged = 0;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxRunMillis);
+        try (PreparedStatement statement = connection.prepareStatement(DELETE_BATCH)) {
+            while (System.nanoTime() < deadline) {
+                long batchStart = System.nanoTime();
+                statement.setTimestamp(1, afterExpiry);
+                statement.setLong(2, afterId);
+                statement.setTimestamp(3, cutoff);
+                statement.setInt(4, batchSize);
+                int deleted = 0;
+                try (ResultSet rows = statement.executeQuery()) {
+                    while (rows.next()) {
+                        deleted++;
+                        Timestamp expiry = rows.getTimestamp(1);
+                        long id = rows.getLong(2);
+                        // RETURNING is unordered; the cursor moves to the greatest key deleted.
+                        int order = expiry.compareTo(afterExpiry);
+                        if (order > 0 || order == 0 && id > afterId) {
+                            afterExpiry = expiry;
+                            afterId = id;
+                        }
+                    }
+                }
+                connection.commit();
+                purged += deleted;
+                metrics.countTokensPurged(deleted);
+                if (deleted < batchSize) {
+                    break;
+                }
+                long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - batchStart);
+                if (elapsedMillis > targetBatchMillis) {
+                    batchSize = Math.max(minBatchSize, batchSize / 2);
+                } else if (elapsedMillis < targetBatchMillis / 2) {
+                    batchSize = Math.min(maxBatchSize, batchSize * 2);
+                }
+                if (!pause((long) (elapsedMillis * pauseRatio))) {
+                    break;
+                }
+            }
+        }
+        return purged;
+    }
+
+    private static long lagSeconds(Connection connection, Timestamp cutoff) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "select min(expiry_date) from auth_tokens where expiry_date < ?")) {
+            statement.setTimestamp(1, cutoff);
+            try (ResultSet rows = statement.executeQuery()) {
+                Timestamp oldest = rows.next() ? rows.getTimestamp(1) : null;
+                return oldest == null ? 0 : Math.max(0, (cutoff.getTime() - oldest.getTime()) / 1000);
+            }
+        }
+    }
+
+    private static boolean advisoryLock(Connection connection, String sql) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setLong(1, ADVISORY_LOCK_KEY);
+            try (ResultSet rows = statement.executeQuery()) {
+                return rows.next() && rows.getBoolean(1);
+            }
+        }
+    }
+
+    private static boolean pause(long millis) {
+        if (millis <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
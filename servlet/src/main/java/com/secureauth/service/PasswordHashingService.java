@@ -0,0 +1,130 @@
+package com.secureauth.service;
+
+import com.secureauth.exception.CustomException;
+import com.secureauth.exception.ErrorCode;
+import com.secureauth.security.BCryptCostCalibrator;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs password hashing on a dedicated, CPU-sized pool with a bounded queue.
+ *
+ * <p>BCrypt is by far the most expensive thing the service does. Keeping it off the
+ * request threads means a burst of sign-ins cannot starve cheap authenticated calls,
+ * and a full queue turns excess sign-ins into an immediate 503 instead of a pile-up.</p>
+ */
+@Service
+public class PasswordHashingService {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordHashingService.class);
+
+    private final PasswordEncoder passwordEncoder;
+    private final int strength;
+    private final long maxWaitMillis;
+    private final ThreadPoolExecutor executor;
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder,
+                                  BCryptCostCalibrator costCalibrator,
+                                  @Value("${security.password.hashing.threads:0}") int threads,
+                                  @Value("${security.password.hashing.queue-capacity:64}") int queueCapacity,
+                                  @Value("${security.password.hashing.max-wait-ms:2000}") long maxWaitMillis) {
+        this.passwordEncoder = passwordEncoder;
+        this.strength = costCalibrator.getStrength();
+        this.maxWaitMillis = maxWaitMillis;
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Hashes a raw password.
+     *
+     * @param rawPassword the raw password
+     * @return the encoded password
+     * @throws CustomException with {@link ErrorCode#SERVICE_UNAVAILABLE} if the hashing pool is saturated
+     */
+    public String encode(CharSequence rawPassword) {
+        return run(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Checks a raw password against an encoded one.
+     *
+     * @param rawPassword     the raw password
+     * @param encodedPassword the stored hash
+     * @return true if the password matches
+     * @throws CustomException with {@link ErrorCode#SERVICE_UNAVAILABLE} if the hashing pool is saturated
+     */
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Returns whether a stored hash was created with a lower cost than the configured one.
+     * Hashes with a higher cost are kept: nodes that calibrate to different costs would
+     * otherwise re-hash each other's hashes back and forth, and weaken the stronger ones.
+     *
+     * @param encodedPassword the stored hash
+     * @return true if the password should be re-hashed on the next successful sign-in
+     */
+    public boolean needsRehash(String encodedPassword) {
+        return BCryptCostCalibrator.costOf(encodedPassword) < strength;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> T run(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            log.warn("Password hashing pool saturated, rejecting request");
+            throw unavailable();
+        }
+        try {
+            return future.get(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            log.warn("Password hashing did not complete within {} ms", maxWaitMillis);
+            throw unavailable();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw unavailable();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private static CustomException unavailable() {
+        return new CustomException("Too many concurrent authentication requests, please retry shortly",
+                ErrorCode.SERVICE_UNAVAILABLE.getCode());
+    }
+}
@@ -0,0 +1,229 @@
+package com.secureauth.service;
+
+import com.secureauth.cache.ExpiringLruCache;
+import com.secureauth.exception.RateLimitExceededException;
+import com.secureauth.metrics.AuthMetrics;
+import com.secureauth.metrics.AuthMetrics.RateLimitOutcome;
+import com.secureauth.metrics.AuthMetrics.UserOperation;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Token bucket rate limits for sign-in and sign-up, shared by all nodes through Redis.
+ *
+ * <p>Both operations run BCrypt, so they are the cheapest way to burn this service's CPU.
+ * Sign-in is limited per client IP and per username, which catches both a single client
+ * spraying many accounts and a botnet stuffing one account; sign-up is limited per IP.
+ * All buckets of a check are refilled and drawn from in one Lua script, using the Redis
+ * clock, so a request either takes a token from every bucket or from none.</p>
+ *
+ * <p>When a bucket runs dry, its key is remembered locally until the bucket has a token
+ * again, and requests for it are rejected without calling Redis. Other nodes can only
+ * drain a bucket further, so a local rejection is never wrong. If Redis is unavailable
+ * the limiter fails open; the BCrypt pool bounds the damage on its own.</p>
+ */
+@Service
+public class RateLimiter {
+
+    /**
+     * The outcome of a rate limit check, reported to clients as {@code RateLimit-*} headers.
+     *
+     * @param allowed      whether the request may proceed
+     * @param limit        the capacity of the most limiting bucket, 0 if no limit applied
+     * @param remaining    the requests left in that bucket
+     * @param resetMs      the time until that bucket is full again
+     * @param retryAfterMs the time until a rejected request can be retried
+     */
+    public record Decision(boolean allowed, long limit, long remaining, long resetMs, long retryAfterMs) {
+
+        static final Decision UNLIMITED = new Decision(true, 0, 0, 0, 0);
+
+        /**
+         * Returns the {@code RateLimit-Limit}, {@code RateLimit-Remaining} and {@code RateLimit-Reset}
+         * headers, plus {@code Retry-After} if the request was rejected.
+         *
+         * @return the headers, empty if no limit applied
+         */
+        public HttpHeaders headers() {
+            HttpHeaders headers = new HttpHeaders();
+            if (limit == 0) {
+                return headers;
+            }
+            headers.set("RateLimit-Limit", Long.toString(limit));
+            headers.set("RateLimit-Remaining", Long.toString(remaining));
+            headers.set("RateLimit-Reset", Long.toString(seconds(resetMs)));
+            if (!allowed) {
+                headers.set(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, seconds(retryAfterMs))));
+            }
+            return headers;
+        }
+
+        private static long seconds(long millis) {
+            return (millis + 999) / 1000;
+        }
+    }
+
+    private record Bucket(String prefix, int capacity, double tokensPerMs) {
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(RateLimiter.class);
+
+    /**
+     * KEYS are the buckets, ARGV holds a capacity and a refill rate in tokens per millisecond
+     * for each. Returns {allowed, retry after ms, remaining, limiting bucket index, reset ms}.
+     */
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> TAKE = new DefaultRedisScript<>("""
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            local tokens = {}
+            local allowed = 1
+            local wait = 0
+            local limiting = 1
+            for i, key in ipairs(KEYS) do
+                local capacity = tonumber(ARGV[i * 2 - 1])
+                local rate = tonumber(ARGV[i * 2])
+                local bucket = redis.call('HMGET', key, 'tokens', 'ts')
+                local available = capacity
+                if bucket[1] then
+                    available = math.min(capacity, tonumber(bucket[1]) + math.max(0, now - tonumber(bucket[2])) * rate)
+                end
+                tokens[i] = available
+                if available < 1 then
+                    local needed = math.ceil((1 - available) / rate)
+                    if allowed == 1 or needed > wait then
+                        wait = needed
+                        limiting = i
+                    end
+                    allowed = 0
+                end
+            end
+            local remaining = -1
+            for i, key in ipairs(KEYS) do
+                local capacity = tonumber(ARGV[i * 2 - 1])
+                local rate = tonumber(ARGV[i * 2])
+                local left = tokens[i] - allowed
+                redis.call('HSET', key, 'tokens', left, 'ts', now)
+                redis.call('PEXPIRE', key, math.ceil((capacity - left) / rate) + 1000)
+                if allowed == 1 and (remaining < 0 or math.floor(left) < remaining) then
+                    remaining = math.floor(left)
+                    limiting = i
+                end
+            end
+            local capacity = tonumber(ARGV[limiting * 2 - 1])
+            local rate = tonumber(ARGV[limiting * 2])
+            local reset = math.ceil((capacity - tokens[limiting] + allowed) / rate)
+            return {allowed, wait, math.max(remaining, 0), limiting - 1, reset}""", List.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final CircuitBreaker circuitBreaker;
+    private final AuthMetrics metrics;
+    private final boolean enabled;
+    private final List<Bucket> signInBuckets;
+    private final List<Bucket> signUpBuckets;
+    private final ExpiringLruCache<String, Long> blockedUntil;
+
+    public RateLimiter(RedisTemplate<String, String> redisTemplate,
+                       CircuitBreaker redisCircuitBreaker,
+                       AuthMetrics metrics,
+                       @Value("${rate-limit.enabled:true}") boolean enabled,
+                       @Value("${rate-limit.sign-in.per-ip.capacity:20}") int signInIpCapacity,
+                       @Value("${rate-limit.sign-in.per-ip.refill-per-minute:10}") double signInIpRefill,
+                       @Value("${rate-limit.sign-in.per-username.capacity:5}") int signInUserCapacity,
+                       @Value("${rate-limit.sign-in.per-username.refill-per-minute:1}") double signInUserRefill,
+                       @Value("${rate-limit.sign-up.per-ip.capacity:5}") int signUpIpCapacity,
+                       @Value("${rate-limit.sign-up.per-ip.refill-per-minute:1}") double signUpIpRefill,
+                       @Value("${rate-limit.local-cache-size:100000}") int localCacheSize) {
+        this.redisTemplate = redisTemplate;
+        this.circuitBreaker = redisCircuitBreaker;
+        this.metrics = metrics;
+        this.enabled = enabled;
+        this.signInBuckets = List.of(
+                bucket("rl:signin:ip:", signInIpCapacity, signInIpRefill),
+                bucket("rl:signin:user:", signInUserCapacity, signInUserRefill));
+        this.signUpBuckets = List.of(bucket("rl:signup:ip:", signUpIpCapacity, signUpIpRefill));
+        this.blockedUntil = new ExpiringLruCache<>(localCacheSize);
+    }
+
+    /**
+     * Takes a token for an operation from the client's buckets.
+     *
+     * @param operation the operation
+     * @param clientIp  the client address
+     * @param username  the username the request is for; only sign-in is limited per username
+     * @return the decision, whose headers belong on the response
+     * @throws RateLimitExceededException if any bucket is empty
+     */
+    public Decision acquire(UserOperation operation, String clientIp, String username) {
+        if (!enabled) {
+            return Decision.UNLIMITED;
+        }
+        List<Bucket> buckets = operation == UserOperation.SIGN_IN ? signInBuckets : signUpBuckets;
+        List<String> keys = new ArrayList<>(buckets.size());
+        List<String> args = new ArrayList<>(buckets.size() * 2);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < buckets.size(); i++) {
+            Bucket bucket = buckets.get(i);
+            String key = bucket.prefix() + (i == 0 ? clientIp : username.toLowerCase(Locale.ROOT));
+            Long until = blockedUntil.get(key, now);
+            if (until != null) {
+                metrics.countRateLimit(operation, RateLimitOutcome.DENIED_LOCALLY);
+                throw rejected(operation, new Decision(false, bucket.capacity(), 0, until - now, until - now));
+            }
+            keys.add(key);
+            args.add(Integer.toString(bucket.capacity()));
+            args.add(Double.toString(bucket.tokensPerMs()));
+        }
+
+        List<?> result;
+        try {
+            result = circuitBreaker.executeSupplier(() -> redisTemplate.execute(TAKE, keys, args.toArray()));
+        } catch (CallNotPermittedException | DataAccessException e) {
+            log.debug("Rate limit check failed, allowing request: {}", e.getMessage());
+            result = null;
+        }
+        if (result == null || result.size() < 5) {
+            metrics.countRateLimit(operation, RateLimitOutcome.FAILED_OPEN);
+            return Decision.UNLIMITED;
+        }
+        boolean allowed = number(result.get(0)) == 1;
+        int limiting = (int) number(result.get(3));
+        Decision decision = new Decision(allowed, buckets.get(limiting).capacity(),
+                number(result.get(2)), number(result.get(4)), number(result.get(1)));
+        if (allowed) {
+            metrics.countRateLimit(operation, RateLimitOutcome.ALLOWED);
+            return decision;
+        }
+        long until = now + decision.retryAfterMs();
+        blockedUntil.put(keys.get(limiting), until, until);
+        metrics.countRateLimit(operation, RateLimitOutcome.DENIED);
+        throw rejected(operation, decision);
+    }
+
+    private static RateLimitExceededException rejected(UserOperation operation, Decision decision) {
+        String action = operation == UserOperation.SIGN_IN ? "sign-in" : "sign-up";
+        return new RateLimitExceededException("Too many " + action + " attempts, please retry later",
+                decision.headers());
+    }
+
+    private static Bucket bucket(String prefix, int capacity, double refillPerMinute) {
+        return new Bucket(prefix, capacity, refillPerMinute / 60_000);
+    }
+
+    private static long number(Object value) {
+        return ((Number) value).longValue();
+    }
+}
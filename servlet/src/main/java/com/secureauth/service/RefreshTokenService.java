@@ -0,0 +1,160 @@
+package com.secureauth.service;
+
+import com.secureauth.entity.AuthToken;
+import com.secureauth.entity.User;
+import com.secureauth.entity.enums.RoleType;
+import com.secureauth.exception.CustomException;
+import com.secureauth.exception.ErrorCode;
+import com.secureauth.repository.AuthTokenRepository;
+import org.hibernate.Hibernate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Issues and rotates opaque refresh tokens stored hashed in {@code auth_tokens}.
+ *
+ * <p>Each refresh token can be used once: rotating it revokes it and issues a new one
+ * in the same family. Presenting a token that was already rotated means it leaked,
+ * so the whole family is revoked and both the thief and the legitimate client have
+ * to sign in again. The family ID is also put in the access token's {@code sid}
+ * claim, which lets sign-out end the session it belongs to.</p>
+ */
+@Service
+public class RefreshTokenService {
+
+    /**
+     * A freshly issued refresh token.
+     *
+     * @param token    the raw token, returned to the client and never stored
+     * @param familyId the family the token belongs to
+     * @param user     the token owner
+     */
+    public record IssuedToken(String token, String familyId, User user) {
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenService.class);
+    private static final int TOKEN_BYTES = 32;
+
+    private final AuthTokenRepository authTokenRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long expirationMs;
+    private final SecureRandom random = new SecureRandom();
+
+    public RefreshTokenService(AuthTokenRepository authTokenRepository,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${jwt.refresh-expiration:1209600000}") long expirationMs) {
+        this.authTokenRepository = authTokenRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.expirationMs = expirationMs;
+    }
+
+    /**
+     * Starts a new token family for a user who just authenticated.
+     *
+     * @param user the user
+     * @return the issued token
+     */
+    public IssuedToken issue(User user) {
+        return transactionTemplate.execute(status -> create(user, UUID.randomUUID().toString()));
+    }
+
+    /**
+     * Exchanges a refresh token for a new one in the same family.
+     *
+     * @param rawToken the refresh token presented by the client
+     * @return the new token, whose user is fully loaded
+     * @throws CustomException with {@link ErrorCode#UNAUTHORIZED} if the token is unknown, expired or revoked
+     */
+    public IssuedToken rotate(String rawToken) {
+        // Runs to completion even on reuse, so the family revocation is committed before the request fails.
+        IssuedToken issued = transactionTemplate.execute(status -> {
+            AuthToken current = authTokenRepository.findByTokenHash(hash(rawToken)).orElse(null);
+            if (current == null) {
+                log.debug("Unknown refresh token");
+                return null;
+            }
+            if (current.isRevoked()) {
+                int revoked = authTokenRepository.revokeFamily(current.getFamilyId());
+                log.warn("Refresh token reuse detected for user {}, revoked {} token(s) of family {}",
+                        current.getUser().getUsername(), revoked, current.getFamilyId());
+                return null;
+            }
+            if (current.getExpiryDate().isBefore(Instant.now())) {
+                log.debug("Expired refresh token for family {}", current.getFamilyId());
+                return null;
+            }
+            current.setRevoked(true);
+            Hibernate.initialize(current.getUser());
+            return create(current.getUser(), current.getFamilyId());
+        });
+        if (issued == null) {
+            throw new CustomException("Invalid refresh token", ErrorCode.UNAUTHORIZED.getCode());
+        }
+        return issued;
+    }
+
+    /**
+     * Revokes every refresh token of a session, e.g. on sign-out.
+     *
+     * @param familyId the family ID, taken from the access token's {@code sid} claim
+     */
+    public void revokeFamily(String familyId) {
+        transactionTemplate.executeWithoutResult(status -> authTokenRepository.revokeFamily(familyId));
+    }
+
+    /**
+     * Revokes every refresh token of a user, e.g. after a password or role change.
+     *
+     * @param user the user
+     */
+    public void revokeAll(User user) {
+        transactionTemplate.executeWithoutResult(status -> authTokenRepository.revokeAllForUser(user.getId()));
+    }
+
+    /**
+     * Revokes every refresh token of the users holding a role.
+     *
+     * @param role the role
+     */
+    public void revokeAll(RoleType role) {
+        transactionTemplate.executeWithoutResult(status -> authTokenRepository.revokeAllForRole(role));
+    }
+
+    private IssuedToken create(User user, String familyId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        AuthToken token = new AuthToken();
+        token.setTokenHash(hash(rawToken));
+        token.setFamilyId(familyId);
+        token.setUser(user);
+        token.setExpiryDate(Instant.now().plusMillis(expirationMs));
+        authTokenRepository.save(token);
+        return new IssuedToken(rawToken, familyId, user);
+    }
+
+    /**
+     * Refresh tokens are 256 random bits, so a plain SHA-256 is enough; a slow hash would add nothing.
+     */
+    private static String hash(String rawToken) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(rawToken.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.secureauth.service;
+
+import com.secureauth.entity.Role;
+import com.secureauth.entity.enums.RoleType;
+import com.secureauth.repository.RoleRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Immutable {@link RoleType} to {@link Role} mapping, loaded once at startup.
+ *
+ * <p>Roles are a fixed set, so there is no reason to look one up on every signup.
+ * Missing roles are created when the registry loads; the returned entities are
+ * detached and only ever used as references.</p>
+ *
+ * <p>The registry loads once the application is ready, or on first use if that comes
+ * earlier, rather than while the context refreshes. Refreshing the context therefore
+ * needs no database, which the class data sharing training run relies on.</p>
+ */
+@Component
+public class RoleRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(RoleRegistry.class);
+
+    private final RoleRepository roleRepository;
+    private final ReentrantLock loadLock = new ReentrantLock();
+    private volatile Map<RoleType, Role> roles;
+
+    public RoleRegistry(RoleRepository roleRepository) {
+        this.roleRepository = roleRepository;
+    }
+
+    /**
+     * Loads every role, creating the ones that do not exist yet, unless that already happened.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        roles();
+    }
+
+    /**
+     * Returns the role for a role type.
+     *
+     * @param roleType the role type
+     * @return the role, never null
+     */
+    public Role get(RoleType roleType) {
+        return roles().get(roleType);
+    }
+
+    private Map<RoleType, Role> roles() {
+        Map<RoleType, Role> current = roles;
+        if (current == null) {
+            // A lock rather than synchronized, so a virtual thread waiting here does not pin its carrier
+            loadLock.lock();
+            try {
+                current = roles;
+                if (current == null) {
+                    current = loadRoles();
+                    roles = current;
+                }
+            } finally {
+                loadLock.unlock();
+            }
+        }
+        return current;
+    }
+
+    private Map<RoleType, Role> loadRoles() {
+        Map<RoleType, Role> loaded = new EnumMap<>(RoleType.class);
+        for (Role role : roleRepository.findAll()) {
+            loaded.put(role.getName(), role);
+        }
+        for (RoleType roleType : RoleType.values()) {
+            if (!loaded.containsKey(roleType)) {
+                loaded.put(roleType, create(roleType));
+            }
+        }
+        log.info("Loaded {} roles", loaded.size());
+        return Collections.unmodifiableMap(loaded);
+    }
+
+    private Role create(RoleType roleType) {
+        Role role = new Role();
+        role.setName(roleType);
+        try {
+            return roleRepository.saveAndFlush(role);
+        } catch (DataIntegrityViolationException e) {
+            // Another node starting at the same time created it first.
+            return roleRepository.findByName(roleType).orElseThrow(() -> e);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.secureauth.service;
+
+import com.secureauth.repository.UserRepository;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks the current security version of each user in Redis.
+ *
+ * <p>Tokens carry the version the user had when they were issued. In stateless
+ * principal mode this is the only per-request check against user state, so a
+ * password or role change invalidates older tokens without a database query.
+ * Redis is populated lazily from the database with {@code SETNX}, so a lookup
+ * racing with {@link #publish(String, long)} can never overwrite a newer version.
+ * While Redis is unavailable, versions are read from the database.</p>
+ *
+ * <p>A version Redis could not take is retried every
+ * {@code jwt.security-version.retry-interval-ms}; until then this node reads the user's
+ * version from the database, and other nodes may accept the user's older tokens.</p>
+ */
+@Service
+public class SecurityVersionService {
+
+    private static final Logger log = LoggerFactory.getLogger(SecurityVersionService.class);
+    private static final String VERSION_PREFIX = "secver:";
+    private static final long VERSION_TTL_HOURS = 24;
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final UserRepository userRepository;
+    private final CircuitBreaker circuitBreaker;
+    private final Map<String, Long> pending = new ConcurrentHashMap<>();
+
+    public SecurityVersionService(RedisTemplate<String, String> redisTemplate,
+                                  UserRepository userRepository,
+                                  CircuitBreaker redisCircuitBreaker) {
+        this.redisTemplate = redisTemplate;
+        this.userRepository = userRepository;
+        this.circuitBreaker = redisCircuitBreaker;
+    }
+
+    /**
+     * Checks whether a token's security version is still the user's current one.
+     *
+     * @param username the token subject
+     * @param version  the security version carried by the token
+     * @return true if the version is current, false if it is stale or the user no longer exists
+     */
+    public boolean isCurrent(String username, long version) {
+        String key = VERSION_PREFIX + username;
+        String cached;
+        try {
+            cached = pending.containsKey(username) ? null
+                    : circuitBreaker.executeSupplier(() -> redisTemplate.opsForValue().get(key));
+        } catch (CallNotPermittedException | DataAccessException e) {
+            return userRepository.findSecurityVersionByUsername(username).map(current -> current == version).orElse(false);
+        }
+        if (cached != null) {
+            return Long.parseLong(cached) == version;
+        }
+        Optional<Long> current = userRepository.findSecurityVersionByUsername(username);
+        if (current.isEmpty()) {
+            log.debug("Security version lookup for unknown user: {}", username);
+            return false;
+        }
+        if (!pending.containsKey(username)) {
+            try {
+                circuitBreaker.executeRunnable(() -> redisTemplate.opsForValue()
+                        .setIfAbsent(key, current.get().toString(), VERSION_TTL_HOURS, TimeUnit.HOURS));
+            } catch (CallNotPermittedException | DataAccessException e) {
+                // The version was read from the database; the next lookup tries to cache it again.
+                log.debug("Failed to cache security version of {}: {}", username, e.getMessage());
+            }
+        }
+        return current.get() == version;
+    }
+
+    /**
+     * Publishes a user's new security version. Must be called after the change is committed.
+     * If Redis is unavailable the version is retried in the background instead of failing the caller.
+     *
+     * @param username the username
+     * @param version  the new security version
+     */
+    public void publish(String username, long version) {
+        try {
+            circuitBreaker.executeRunnable(() -> set(username, version));
+        } catch (CallNotPermittedException | DataAccessException e) {
+            pending.merge(username, version, Math::max);
+            log.warn("Failed to publish security version of {}, retrying: {}", username, e.getMessage());
+        }
+    }
+
+    /**
+     * Retries the versions Redis could not take, until one fails again.
+     */
+    @Scheduled(fixedDelayString = "${jwt.security-version.retry-interval-ms:5000}")
+    public void retryPending() {
+        for (Map.Entry<String, Long> entry : Map.copyOf(pending).entrySet()) {
+            try {
+                circuitBreaker.executeRunnable(() -> set(entry.getKey(), entry.getValue()));
+                pending.remove(entry.getKey(), entry.getValue());
+            } catch (CallNotPermittedException | DataAccessException e) {
+                log.debug("Security version of {} still pending: {}", entry.getKey(), e.getMessage());
+                return;
+            }
+        }
+    }
+
+    private void set(String username, long version) {
+        redisTemplate.opsForValue().set(VERSION_PREFIX + username, Long.toString(version), VERSION_TTL_HOURS, TimeUnit.HOURS);
+    }
+}
@@ -0,0 +1,413 @@
+package com.secureauth.service;
+
+import com.secureauth.cache.RevocationNearCache;
+import com.secureauth.cache.TrackingRedisCache;
+import com.secureauth.metrics.AuthMetrics;
+import com.secureauth.metrics.AuthMetrics.BlacklistOperation;
+import com.secureauth.metrics.AuthMetrics.LookupSource;
+import com.secureauth.security.JwtTokenProvider;
+import com.secureauth.security.TokenFingerprint;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Manages blacklisted JWT tokens using Redis.
+ *
+ * <p>Lookups are answered from a local {@link RevocationNearCache} when it is enabled
+ * and in sync. Each node keeps the cache current by subscribing to
+ * {@link #REVOCATION_CHANNEL}, on which every {@link #blacklistToken(String, Instant)} is
+ * published, and by periodically re-scanning the blacklist keys in Redis. Lookups the
+ * near-cache cannot answer are read through a {@link TrackingRedisCache}, which remembers
+ * the answer, positive or negative, until Redis reports that the key changed.</p>
+ *
+ * <p>Redis calls go through the {@code redis} circuit breaker. When Redis fails or the
+ * circuit is open, {@link DegradedMode#LOCAL} answers from the last replicated state of
+ * the near-cache instead of failing every authenticated request; lookups it cannot
+ * answer fail with {@link RedisConnectionFailureException}.</p>
+ */
+@Service
+public class TokenBlacklistService implements MessageListener {
+
+    public static final String REVOCATION_CHANNEL = "blacklist:events";
+
+    /**
+     * How lookups are answered while Redis is unavailable.
+     */
+    public enum DegradedMode {
+        /**
+         * Answer from the near-cache, counting Bloom filter candidates as revoked.
+         */
+        LOCAL,
+        /**
+         * Fail every lookup the near-cache cannot answer on its own.
+         */
+        FAIL_CLOSED
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(TokenBlacklistService.class);
+    private final RedisTemplate<String, String> redisTemplate;
+    private static final String BLACKLIST_PREFIX = "blacklisted:";
+    private static final int SCAN_BATCH_SIZE = 500;
+
+    private final RevocationNearCache nearCache;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final TrackingRedisCache trackingCache;
+    private final AuthMetrics metrics;
+    private final CircuitBreaker circuitBreaker;
+    private final DegradedMode degradedMode;
+    private final long legacyMigrationUntil;
+
+    public TokenBlacklistService(RedisTemplate<String, String> redisTemplate,
+                                 ObjectProvider<RedisMessageListenerContainer> listenerContainer,
+                                 ObjectProvider<TrackingRedisCache> trackingCache,
+                                 AuthMetrics metrics,
+                                 CircuitBreaker redisCircuitBreaker,
+                                 @Value("${blacklist.degraded-mode:LOCAL}") DegradedMode degradedMode,
+                                 @Value("${blacklist.near-cache.enabled:true}") boolean nearCacheEnabled,
+                                 @Value("${blacklist.near-cache.expected-insertions:200000}") int expectedInsertions,
+                                 @Value("${blacklist.near-cache.false-positive-rate:0.001}") double falsePositiveRate,
+                                 @Value("${blacklist.near-cache.exact-capacity:10000}") int exactCapacity,
+                                 @Value("${blacklist.near-cache.tracked-capacity:500000}") int trackedCapacity,
+                                 @Value("${blacklist.legacy-migration.window-ms:86400000}") long legacyMigrationWindowMs) {
+        this.redisTemplate = redisTemplate;
+        this.nearCache = nearCacheEnabled
+                ? new RevocationNearCache(expectedInsertions, falsePositiveRate, exactCapacity, trackedCapacity)
+                : null;
+        this.listenerContainer = listenerContainer.getIfAvailable();
+        this.trackingCache = trackingCache.getIfAvailable();
+        this.metrics = metrics;
+        this.circuitBreaker = redisCircuitBreaker;
+        this.degradedMode = degradedMode;
+        this.legacyMigrationUntil = System.currentTimeMillis() + legacyMigrationWindowMs;
+    }
+
+    /**
+     * Adds a token to the blacklist until the token itself expires and notifies the other nodes.
+     *
+     * @param tokenId   the token ID, see {@link com.secureauth.security.VerifiedToken#tokenId()}
+     * @param expiresAt the token expiry
+     */
+    public void blacklistToken(String tokenId, Instant expiresAt) {
+        long ttlMs = expiresAt.toEpochMilli() - System.currentTimeMillis();
+        if (ttlMs <= 0) {
+            if (log.isDebugEnabled()) {
+                log.debug("Token {} already expired, not blacklisting", TokenFingerprint.of(tokenId));
+            }
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            String key = BLACKLIST_PREFIX + tokenId;
+            circuitBreaker.executeRunnable(() -> redisTemplate.opsForValue().set(
+                    key,
+                    "1",
+                    ttlMs,
+                    TimeUnit.MILLISECONDS
+            ));
+            if (nearCache != null) {
+                nearCache.revoked(key, expiresAt.toEpochMilli());
+                redisTemplate.convertAndSend(REVOCATION_CHANNEL, expiresAt.toEpochMilli() + "|" + key);
+            }
+            metrics.recordBlacklist(BlacklistOperation.BLACKLIST, true, start);
+            if (log.isDebugEnabled()) {
+                log.debug("Blacklisted token {}", TokenFingerprint.of(tokenId));
+            }
+        } catch (Exception e) {
+            metrics.recordBlacklist(BlacklistOperation.BLACKLIST, false, start);
+            log.error("Failed to blacklist token: {}", e.getMessage());
+            throw new RuntimeException("Failed to blacklist token", e);
+        }
+    }
+
+    /**
+     * Checks if a token is blacklisted.
+     * Only near-cache candidates and lookups made while the cache is out of sync reach Redis.
+     *
+     * @param tokenId the token ID to check
+     * @return true if the token is blacklisted, false otherwise
+     */
+    public boolean isTokenBlacklisted(String tokenId) {
+        return isTokenBlacklisted(tokenId, List.of(), null);
+    }
+
+    /**
+     * Checks if a token is blacklisted and fetches other keys the caller needs in the same round trip.
+     * Redis is only called if the near-cache cannot answer or {@code alsoFetch} is not empty.
+     * If Redis is unavailable in {@link DegradedMode#LOCAL}, the keys in {@code alsoFetch} are
+     * left out of {@code fetched}; they must not be read as missing.
+     *
+     * @param tokenId   the token ID to check
+     * @param alsoFetch other string keys to read, e.g. token generations
+     * @param fetched   receives the value of each key in {@code alsoFetch}, null if the key does not exist
+     * @return true if the token is blacklisted, false otherwise
+     * @throws RedisConnectionFailureException if Redis is unavailable and the lookup cannot be answered locally
+     */
+    public boolean isTokenBlacklisted(String tokenId, List<String> alsoFetch, Map<String, String> fetched) {
+        String key = BLACKLIST_PREFIX + tokenId;
+        RevocationNearCache.Verdict local = nearCache != null
+                ? nearCache.lookup(key)
+                : RevocationNearCache.Verdict.UNKNOWN;
+        LookupSource source = LookupSource.NEAR_CACHE;
+        if (local == RevocationNearCache.Verdict.UNKNOWN) {
+            Boolean tracked = trackingCache != null ? trackingCache.cachedExists(key) : null;
+            if (tracked != null) {
+                local = tracked ? RevocationNearCache.Verdict.REVOKED : RevocationNearCache.Verdict.NOT_REVOKED;
+                source = LookupSource.TRACKING;
+            } else {
+                source = LookupSource.REDIS;
+            }
+        }
+        metrics.countLookup(source);
+        RevocationNearCache.Verdict verdict = local;
+        if (verdict != RevocationNearCache.Verdict.UNKNOWN && alsoFetch.isEmpty()) {
+            return verdict == RevocationNearCache.Verdict.REVOKED;
+        }
+        long start = System.nanoTime();
+        try {
+            boolean blacklisted = circuitBreaker.executeSupplier(() -> askRedis(key, verdict, alsoFetch, fetched));
+            metrics.recordBlacklist(BlacklistOperation.HAS_KEY, true, start);
+            if (log.isDebugEnabled()) {
+                log.debug("Token {} blacklisted: {}", TokenFingerprint.of(tokenId), blacklisted);
+            }
+            return blacklisted;
+        } catch (CallNotPermittedException e) {
+            return degraded(key, verdict, alsoFetch, fetched, e);
+        } catch (DataAccessException e) {
+            metrics.recordBlacklist(BlacklistOperation.HAS_KEY, false, start);
+            log.error("Error checking token blacklist: {}", e.getMessage());
+            return degraded(key, verdict, alsoFetch, fetched, e);
+        } catch (Exception e) {
+            metrics.recordBlacklist(BlacklistOperation.HAS_KEY, false, start);
+            log.error("Error checking token blacklist: {}", e.getMessage());
+            throw new RuntimeException("Failed to check blacklist", e);
+        }
+    }
+
+    private boolean askRedis(String key, RevocationNearCache.Verdict verdict,
+                             List<String> alsoFetch, Map<String, String> fetched) {
+        boolean tracked = trackingCache != null && trackingCache.isActive();
+        if (alsoFetch.isEmpty() && !tracked) {
+            Boolean exists = redisTemplate.hasKey(key);
+            return exists != null && exists;
+        }
+        boolean askRedis = verdict == RevocationNearCache.Verdict.UNKNOWN;
+        List<String> keys = new ArrayList<>(alsoFetch.size() + 1);
+        keys.addAll(alsoFetch);
+        if (askRedis) {
+            keys.add(key);
+        }
+        // Reads over the tracked connection are remembered until Redis invalidates them.
+        List<String> values = tracked ? trackingCache.mget(keys) : redisTemplate.opsForValue().multiGet(keys);
+        for (int i = 0; i < alsoFetch.size(); i++) {
+            fetched.put(alsoFetch.get(i), values == null ? null : values.get(i));
+        }
+        return askRedis
+                ? values != null && values.get(alsoFetch.size()) != null
+                : verdict == RevocationNearCache.Verdict.REVOKED;
+    }
+
+    /**
+     * Answers a lookup Redis could not, or fails it with {@link RedisConnectionFailureException}.
+     */
+    private boolean degraded(String key, RevocationNearCache.Verdict verdict,
+                             List<String> alsoFetch, Map<String, String> fetched, RuntimeException cause) {
+        if (degradedMode == DegradedMode.LOCAL) {
+            RevocationNearCache.Verdict local = verdict != RevocationNearCache.Verdict.UNKNOWN || nearCache == null
+                    ? verdict
+                    : nearCache.lookupDegraded(key);
+            if (local != RevocationNearCache.Verdict.UNKNOWN) {
+                metrics.countLookup(LookupSource.DEGRADED);
+                // The keys in alsoFetch stay unanswered; TokenGenerationService reads them from its replica.
+                return local == RevocationNearCache.Verdict.REVOKED;
+            }
+        }
+        throw new RedisConnectionFailureException("Token blacklist unavailable", cause);
+    }
+
+    /**
+     * Opens the client-side tracking connection, retrying until Redis is reachable and
+     * again whenever the connection has dropped. Until then lookups read Redis directly.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${blacklist.tracking.reconnect-interval-ms:5000}",
+            initialDelayString = "${blacklist.tracking.reconnect-interval-ms:5000}")
+    public void connectTracking() {
+        if (trackingCache != null) {
+            trackingCache.connect();
+        }
+    }
+
+    /**
+     * Applies a revocation published by any node, including this one.
+     *
+     * @param message the pub/sub message in the form {@code <expiresAt>|<key>}
+     * @param pattern the matched pattern, unused
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        if (nearCache == null) {
+            return;
+        }
+        String payload = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = payload.indexOf('|');
+        if (separator <= 0) {
+            log.warn("Ignoring malformed revocation event");
+            return;
+        }
+        try {
+            nearCache.revoked(payload.substring(separator + 1), Long.parseLong(payload.substring(0, separator)));
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring malformed revocation event");
+        }
+    }
+
+    /**
+     * Rebuilds the near-cache from the blacklist keys in Redis.
+     * Runs at startup and periodically, which bounds how long a missed pub/sub message can go unnoticed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${blacklist.near-cache.resync-interval-ms:60000}",
+            initialDelayString = "${blacklist.near-cache.resync-interval-ms:60000}")
+    public void resyncNearCache() {
+        if (nearCache == null || listenerContainer == null) {
+            return;
+        }
+        if (!listenerContainer.isListening()) {
+            // Events published while unsubscribed are lost, so stop answering locally until rebuilt.
+            nearCache.invalidate();
+            try {
+                listenerContainer.addMessageListener(this, new ChannelTopic(REVOCATION_CHANNEL));
+            } catch (Exception e) {
+                log.warn("Failed to subscribe to revocation events, falling back to Redis lookups: {}", e.getMessage());
+                return;
+            }
+        }
+        nearCache.beginRebuild();
+        long start = System.nanoTime();
+        long now = System.currentTimeMillis();
+        int count = 0;
+        try (Cursor<String> cursor = redisTemplate.scan(
+                ScanOptions.scanOptions().match(BLACKLIST_PREFIX + "*").count(SCAN_BATCH_SIZE).build())) {
+            List<String> batch = new ArrayList<>(SCAN_BATCH_SIZE);
+            while (cursor.hasNext()) {
+                batch.add(cursor.next());
+                if (batch.size() == SCAN_BATCH_SIZE) {
+                    count += addToRebuild(batch, now);
+                    batch.clear();
+                }
+            }
+            count += addToRebuild(batch, now);
+            nearCache.completeRebuild();
+            metrics.recordBlacklist(BlacklistOperation.RESYNC, true, start);
+            log.debug("Revocation near-cache rebuilt with {} entries", count);
+        } catch (Exception e) {
+            nearCache.abortRebuild();
+            nearCache.invalidate();
+            metrics.recordBlacklist(BlacklistOperation.RESYNC, false, start);
+            log.warn("Failed to rebuild revocation near-cache, falling back to Redis lookups: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Copies blacklist entries written before tokens carried a {@code jti}, keyed by the whole
+     * compact token, to the key of {@link JwtTokenProvider#legacyTokenId(String)} with their
+     * remaining TTL. Runs for {@code blacklist.legacy-migration.window-ms} after startup, the
+     * longest lifetime of a token issued without a {@code jti}, so entries written by nodes still
+     * on the old version during a rolling deploy are copied too. The old keys are left to expire,
+     * since those nodes still read them.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${blacklist.legacy-migration.interval-ms:60000}",
+            initialDelayString = "${blacklist.legacy-migration.interval-ms:60000}")
+    public void migrateLegacyKeys() {
+        long now = System.currentTimeMillis();
+        if (now > legacyMigrationUntil) {
+            return;
+        }
+        int migrated = 0;
+        // A compact JWT has two dots; token IDs have none.
+        try (Cursor<String> cursor = redisTemplate.scan(ScanOptions.scanOptions()
+                .match(BLACKLIST_PREFIX + "*.*.*").count(SCAN_BATCH_SIZE).build())) {
+            while (cursor.hasNext()) {
+                String legacyKey = cursor.next();
+                String tokenId = JwtTokenProvider.legacyTokenId(legacyKey.substring(BLACKLIST_PREFIX.length()));
+                if (Boolean.TRUE.equals(redisTemplate.hasKey(BLACKLIST_PREFIX + tokenId))) {
+                    continue;
+                }
+                Long ttlMs = redisTemplate.getExpire(legacyKey, TimeUnit.MILLISECONDS);
+                if (ttlMs != null && ttlMs != -2) {
+                    // Keys without a TTL were never written by the old version; keep them for the window.
+                    blacklistToken(tokenId, Instant.ofEpochMilli(ttlMs > 0 ? now + ttlMs : legacyMigrationUntil));
+                    migrated++;
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Failed to migrate legacy blacklist entries: {}", e.getMessage());
+            return;
+        }
+        if (migrated > 0) {
+            log.info("Migrated {} legacy blacklist entries", migrated);
+        }
+    }
+
+    /**
+     * Drops expired revocations from the near-cache.
+     */
+    @Scheduled(fixedDelay = 1000)
+    public void purgeNearCache() {
+        if (nearCache != null) {
+            nearCache.purgeExpired();
+        }
+    }
+
+    private int addToRebuild(List<String> keys, long now) {
+        if (keys.isEmpty()) {
+            return 0;
+        }
+        List<Object> ttls = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String key : keys) {
+                connection.keyCommands().pTtl(key.getBytes(StandardCharsets.UTF_8));
+            }
+            return null;
+        });
+        int added = 0;
+        for (int i = 0; i < keys.size(); i++) {
+            Object ttl = ttls.get(i);
+            long ttlMs = ttl instanceof Long value ? value : -2;
+            if (ttlMs == -1) {
+                // Keys without a TTL never expire on their own.
+                nearCache.addToRebuild(keys.get(i), Long.MAX_VALUE);
+                added++;
+            } else if (ttlMs > 0) {
+                nearCache.addToRebuild(keys.get(i), now + ttlMs);
+                added++;
+            }
+        }
+        return added;
+    }
+}
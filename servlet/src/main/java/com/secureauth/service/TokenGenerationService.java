@@ -0,0 +1,422 @@
+package com.secureauth.service;
+
+import com.secureauth.cache.ExpiringLruCache;
+import com.secureauth.cache.GenerationReplica;
+import com.secureauth.exception.RevocationPendingException;
+import com.secureauth.security.VerifiedToken;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-user and per-role token generations, the O(1) way to revoke every token of a user or role.
+ *
+ * <p>A generation is a counter in Redis that only ever grows. Tokens carry the
+ * generations of their user and roles at issue time in the {@code gen} claim; a token
+ * is rejected once any of them has moved past the value it carries. Bumping a
+ * generation is therefore a single write no matter how many tokens are out there.</p>
+ *
+ * <p>Bumps set the counter to at least the current epoch millis, so a counter lost
+ * with Redis data comes back higher than anything issued before. Keys expire with the
+ * last access token that could carry them. Generations are cached locally for
+ * {@code tokens.generation.local-ttl-ms}, and bumps are published on
+ * {@link #GENERATION_CHANNEL} so the other nodes see them right away.</p>
+ *
+ * <p>Every bumped generation is also kept in a {@link GenerationReplica} until its key
+ * expires, rebuilt from Redis every {@code tokens.generation.replica-resync-interval-ms}. When
+ * Redis is unavailable, generations that are not cached locally are read from the replica;
+ * if it cannot answer, the check fails with {@link RedisConnectionFailureException} rather
+ * than treating the generation as never bumped.</p>
+ *
+ * <p>Bumps go through the {@code redis} circuit breaker. A bump that fails is applied
+ * to this node's cache and replica right away, retried every
+ * {@code tokens.generation.retry-interval-ms} until Redis takes it, and reported to the
+ * caller with {@link RevocationPendingException}.</p>
+ */
+@Service
+public class TokenGenerationService implements MessageListener {
+
+    public static final String GENERATION_CHANNEL = "generation:events";
+
+    /**
+     * The {@code gen} claim entry holding the user generation; role generations are keyed by authority.
+     */
+    public static final String USER_ENTRY = "user";
+
+    private static final Logger log = LoggerFactory.getLogger(TokenGenerationService.class);
+    private static final String USER_PREFIX = "gen:user:";
+    private static final String ROLE_PREFIX = "gen:role:";
+    private static final int SCAN_BATCH_SIZE = 500;
+
+    private static final RedisScript<Long> BUMP = new DefaultRedisScript<>("""
+            local next = math.max(tonumber(redis.call('GET', KEYS[1]) or '0') + 1, tonumber(ARGV[1]))
+            redis.call('SET', KEYS[1], next, 'PX', ARGV[2])
+            return next""", Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final CircuitBreaker circuitBreaker;
+    private final boolean enabled;
+    private final long keyTtlMs;
+    private final long localTtlMs;
+    private final ExpiringLruCache<String, Long> cache;
+    private final GenerationReplica replica;
+    private final int replicaCapacity;
+    private final Set<String> pendingBumps = ConcurrentHashMap.newKeySet();
+    private volatile boolean subscribed;
+
+    public TokenGenerationService(RedisTemplate<String, String> redisTemplate,
+                                  ObjectProvider<RedisMessageListenerContainer> listenerContainer,
+                                  CircuitBreaker redisCircuitBreaker,
+                                  @Value("${tokens.generation.enabled:true}") boolean enabled,
+                                  @Value("${jwt.expiration}") long keyTtlMs,
+                                  @Value("${tokens.generation.local-ttl-ms:5000}") long localTtlMs,
+                                  @Value("${tokens.generation.local-cache-size:100000}") int localCacheSize,
+                                  @Value("${tokens.generation.replica-capacity:100000}") int replicaCapacity) {
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer.getIfAvailable();
+        this.circuitBreaker = redisCircuitBreaker;
+        this.enabled = enabled;
+        this.keyTtlMs = keyTtlMs;
+        this.localTtlMs = localTtlMs;
+        this.cache = new ExpiringLruCache<>(localCacheSize);
+        this.replica = new GenerationReplica(replicaCapacity);
+        this.replicaCapacity = replicaCapacity;
+    }
+
+    /**
+     * Returns the generations to embed in a new token.
+     *
+     * @param username    the token subject
+     * @param authorities the authorities embedded in the token
+     * @return the non-zero generations, keyed by {@link #USER_ENTRY} or authority; empty if Redis is unavailable
+     */
+    public Map<String, Long> current(String username, Collection<? extends GrantedAuthority> authorities) {
+        Map<String, Long> generations = new HashMap<>();
+        if (!enabled) {
+            return generations;
+        }
+        Map<String, String> entries = entries(username, authorities.stream().map(GrantedAuthority::getAuthority).toList());
+        try {
+            List<String> missing = uncached(entries.keySet());
+            Map<String, String> fetched = missing.isEmpty() ? Map.of() : fetch(missing);
+            entries.forEach((key, entry) -> {
+                long generation = resolve(key, fetched);
+                if (generation > 0) {
+                    generations.put(entry, generation);
+                }
+            });
+        } catch (RuntimeException e) {
+            // A token without generations is older than any bump, so this only errs towards revoking it.
+            log.warn("Failed to read token generations, issuing token without them: {}", e.getMessage());
+            generations.clear();
+        }
+        return generations;
+    }
+
+    /**
+     * Returns the Redis keys a token's check needs that are not cached locally.
+     * The caller fetches them together with its blacklist lookup and passes the
+     * values to {@link #isCurrent(VerifiedToken, Map)}.
+     *
+     * @param token the verified token
+     * @return the keys to fetch, usually none
+     */
+    public List<String> uncachedKeys(VerifiedToken token) {
+        if (!enabled) {
+            return List.of();
+        }
+        return uncached(entries(token).keySet());
+    }
+
+    /**
+     * Checks that no generation of the token's user or roles has moved past the one it carries.
+     *
+     * @param token   the verified token
+     * @param fetched the values fetched for {@link #uncachedKeys(VerifiedToken)}, null values for missing keys;
+     *                keys left out, e.g. because Redis was unavailable, are read from the replica
+     * @return true if the token is still current
+     * @throws RedisConnectionFailureException if a generation is neither cached, fetched nor replicated
+     *                                         and Redis cannot be read
+     */
+    public boolean isCurrent(VerifiedToken token, Map<String, String> fetched) {
+        if (!enabled) {
+            return true;
+        }
+        Map<String, Long> carried = token.generations();
+        for (Map.Entry<String, String> entry : entries(token).entrySet()) {
+            if (resolve(entry.getKey(), fetched) > carried.getOrDefault(entry.getValue(), 0L)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Revokes every token issued to a user so far.
+     *
+     * @param username the username
+     * @throws RevocationPendingException if Redis is unavailable; the bump is retried in the background
+     */
+    public void revokeUser(String username) {
+        bump(USER_PREFIX + username);
+    }
+
+    /**
+     * Revokes every token issued so far to holders of an authority.
+     *
+     * @param authority the authority, e.g. {@code ROLE_STAFF}
+     * @throws RevocationPendingException if Redis is unavailable; the bump is retried in the background
+     */
+    public void revokeAuthority(String authority) {
+        bump(ROLE_PREFIX + authority);
+    }
+
+    /**
+     * Applies a bump published by any node, including this one.
+     *
+     * @param message the pub/sub message in the form {@code <generation>|<key>}
+     * @param pattern the matched pattern, unused
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String payload = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = payload.indexOf('|');
+        try {
+            String key = payload.substring(separator + 1);
+            long generation = Long.parseLong(payload.substring(0, separator));
+            cacheMax(key, generation);
+            replica.bumped(key, generation, System.currentTimeMillis() + keyTtlMs);
+        } catch (RuntimeException e) {
+            log.warn("Ignoring malformed generation event");
+        }
+    }
+
+    /**
+     * Subscribes to generation bumps, retrying every {@code redis.pubsub.resubscribe-interval-ms} until it succeeds.
+     * Until then, and whenever a message is lost, the local TTL bounds how long a stale
+     * generation is used.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${redis.pubsub.resubscribe-interval-ms:60000}",
+            initialDelayString = "${redis.pubsub.resubscribe-interval-ms:60000}")
+    public void subscribe() {
+        if (!enabled || listenerContainer == null || subscribed) {
+            return;
+        }
+        try {
+            listenerContainer.addMessageListener(this, new ChannelTopic(GENERATION_CHANNEL));
+            subscribed = true;
+        } catch (Exception e) {
+            log.warn("Failed to subscribe to generation events: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Rebuilds the generation replica from the generation keys in Redis. Runs at startup and
+     * periodically, which bounds how long a missed pub/sub message can go unnoticed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${tokens.generation.replica-resync-interval-ms:60000}",
+            initialDelayString = "${tokens.generation.replica-resync-interval-ms:60000}")
+    public void resyncReplica() {
+        if (!enabled) {
+            return;
+        }
+        replica.beginRebuild();
+        long expiresAt = System.currentTimeMillis() + keyTtlMs;
+        try (Cursor<String> cursor = redisTemplate.scan(ScanOptions.scanOptions()
+                .match("gen:*").count(SCAN_BATCH_SIZE).build())) {
+            List<String> batch = new ArrayList<>(SCAN_BATCH_SIZE);
+            boolean complete = true;
+            while (complete && cursor.hasNext()) {
+                batch.add(cursor.next());
+                if (batch.size() == SCAN_BATCH_SIZE) {
+                    complete = addToRebuild(batch, expiresAt);
+                    batch.clear();
+                }
+            }
+            // A full replica abandons the rebuild, and completing it then stops the replica answering
+            if (complete && addToRebuild(batch, expiresAt) && replica.completeRebuild()) {
+                log.debug("Token generation replica rebuilt");
+            } else {
+                replica.completeRebuild();
+                log.warn("More than {} token generations to replicate, tokens are refused while Redis is unavailable",
+                        replicaCapacity);
+            }
+        } catch (Exception e) {
+            replica.abortRebuild();
+            log.warn("Failed to rebuild token generation replica: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Drops generations whose keys have expired in Redis from the replica.
+     */
+    @Scheduled(fixedDelayString = "${tokens.generation.replica-resync-interval-ms:60000}")
+    public void purgeReplica() {
+        replica.purgeExpired(System.currentTimeMillis());
+    }
+
+    /**
+     * Retries the bumps Redis could not take, oldest first, until one fails again.
+     */
+    @Scheduled(fixedDelayString = "${tokens.generation.retry-interval-ms:5000}")
+    public void retryPendingBumps() {
+        for (String key : List.copyOf(pendingBumps)) {
+            try {
+                circuitBreaker.executeRunnable(() -> bumpInRedis(key));
+                pendingBumps.remove(key);
+            } catch (CallNotPermittedException | DataAccessException e) {
+                log.debug("Token generation bump {} still pending: {}", key, e.getMessage());
+                return;
+            }
+        }
+    }
+
+    private boolean addToRebuild(List<String> keys, long expiresAt) {
+        if (keys.isEmpty()) {
+            return true;
+        }
+        List<String> values = redisTemplate.opsForValue().multiGet(keys);
+        for (int i = 0; values != null && i < keys.size(); i++) {
+            String value = values.get(i);
+            if (value != null && !replica.addToRebuild(keys.get(i), Long.parseLong(value), expiresAt)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void bump(String key) {
+        try {
+            circuitBreaker.executeRunnable(() -> bumpInRedis(key));
+        } catch (CallNotPermittedException | DataAccessException e) {
+            // Redis will set at least the current time, so this node can already refuse older tokens.
+            long now = System.currentTimeMillis();
+            cacheMax(key, now);
+            replica.bumped(key, now, now + keyTtlMs);
+            pendingBumps.add(key);
+            log.warn("Failed to bump token generation {}, retrying: {}", key, e.getMessage());
+            throw new RevocationPendingException(
+                    "Access tokens will be revoked once the token store is reachable again", e);
+        }
+    }
+
+    private void bumpInRedis(String key) {
+        Long generation = redisTemplate.execute(BUMP, List.of(key),
+                Long.toString(System.currentTimeMillis()), Long.toString(keyTtlMs));
+        if (generation == null) {
+            throw new IllegalStateException("Failed to bump token generation " + key);
+        }
+        cacheMax(key, generation);
+        replica.bumped(key, generation, System.currentTimeMillis() + keyTtlMs);
+        log.info("Bumped token generation {} to {}", key, generation);
+        try {
+            redisTemplate.convertAndSend(GENERATION_CHANNEL, generation + "|" + key);
+        } catch (DataAccessException e) {
+            // The other nodes' local TTL bounds how long they miss the bump.
+            log.warn("Failed to publish token generation bump {}: {}", key, e.getMessage());
+        }
+    }
+
+    private long resolve(String key, Map<String, String> fetched) {
+        long now = System.currentTimeMillis();
+        Long cached = cache.get(key, now);
+        if (cached != null) {
+            return cached;
+        }
+        String value;
+        if (fetched.containsKey(key)) {
+            value = fetched.get(key);
+        } else {
+            // Not read with the blacklist lookup: Redis is unavailable, or the cached entry expired since
+            Long replicated = replica.lookup(key, now);
+            if (replicated != null) {
+                return replicated;
+            }
+            try {
+                value = redisTemplate.opsForValue().get(key);
+            } catch (DataAccessException e) {
+                throw new RedisConnectionFailureException("Token generations unavailable", e);
+            }
+        }
+        long generation = value == null ? 0 : Long.parseLong(value);
+        cache.put(key, generation, now + localTtlMs);
+        return generation;
+    }
+
+    private void cacheMax(String key, long generation) {
+        long now = System.currentTimeMillis();
+        Long cached = cache.get(key, now);
+        if (cached == null || cached < generation) {
+            cache.put(key, generation, now + localTtlMs);
+        }
+    }
+
+    private List<String> uncached(Collection<String> keys) {
+        long now = System.currentTimeMillis();
+        List<String> missing = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            if (cache.get(key, now) == null) {
+                missing.add(key);
+            }
+        }
+        return missing;
+    }
+
+    private Map<String, String> fetch(List<String> keys) {
+        List<String> values = redisTemplate.opsForValue().multiGet(keys);
+        Map<String, String> fetched = new HashMap<>();
+        for (int i = 0; i < keys.size(); i++) {
+            fetched.put(keys.get(i), values == null ? null : values.get(i));
+        }
+        return fetched;
+    }
+
+    private static Map<String, String> entries(VerifiedToken token) {
+        List<String> authorities = token.authorities() == null ? List.of()
+                : token.authorities().stream().map(GrantedAuthority::getAuthority).toList();
+        return entries(token.username(), authorities);
+    }
+
+    /**
+     * Maps each Redis key that applies to a token to its entry in the {@code gen} claim.
+     */
+    private static Map<String, String> entries(String username, List<String> authorities) {
+        Map<String, String> entries = new HashMap<>();
+        entries.put(USER_PREFIX + username, USER_ENTRY);
+        for (String authority : authorities) {
+            entries.put(ROLE_PREFIX + authority, authority);
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,269 @@
+package com.secureauth.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.secureauth.dto.UserImportResult;
+import com.secureauth.entity.enums.RoleType;
+import com.secureauth.exception.CustomException;
+import com.secureauth.exception.ErrorCode;
+import com.secureauth.repository.SequenceIdAllocator;
+import com.secureauth.security.BCryptCostCalibrator;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Imports users in bulk from a streamed CSV or NDJSON body.
+ *
+ * <p>Rows are read and processed in chunks, so memory use does not grow with the
+ * size of the upload. For each chunk, raw passwords are hashed in parallel on a pool of
+ * its own, IDs are reserved from {@code users_seq} in one round trip, and the
+ * {@code users} and {@code user_roles} rows go out as JDBC batches in a single
+ * transaction. A username that already exists is skipped with
+ * {@code ON CONFLICT DO NOTHING} and reported, instead of failing the whole batch.</p>
+ */
+@Service
+public class UserImportService {
+
+    /**
+     * The supported body formats.
+     */
+    public enum Format {
+        /** A {@code username,password} or {@code username,passwordHash} header followed by one row per line. */
+        CSV,
+        /** One {@code {"username": ..., "password" | "passwordHash": ...}} object per line. */
+        NDJSON
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(UserImportService.class);
+    private static final String USERS_SEQUENCE = "users_seq";
+    private static final String INSERT_USER = "insert into users (id, username, password, security_version) "
+            + "values (?, ?, ?, 0) on conflict (username) do nothing";
+    private static final String INSERT_USER_ROLE = "insert into user_roles (user_id, role_id) values (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SequenceIdAllocator idAllocator;
+    private final RoleRegistry roleRegistry;
+    private final PasswordEncoder passwordEncoder;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final int hashingThreads;
+    private final ExecutorService hashingExecutor;
+
+    public UserImportService(JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             SequenceIdAllocator idAllocator,
+                             RoleRegistry roleRegistry,
+                             PasswordEncoder passwordEncoder,
+                             ObjectMapper objectMapper,
+                             @Value("${user-import.batch-size:1000}") int batchSize,
+                             @Value("${user-import.hashing-threads:0}") int hashingThreads) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.idAllocator = idAllocator;
+        this.roleRegistry = roleRegistry;
+        this.passwordEncoder = passwordEncoder;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        // Leave half the cores to sign-ins by default; they hash on their own pool.
+        this.hashingThreads = hashingThreads > 0
+                ? hashingThreads
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.hashingExecutor = Executors.newFixedThreadPool(this.hashingThreads, runnable -> {
+            Thread thread = new Thread(runnable, "user-import-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Imports every row of the body. Each imported user gets the {@link RoleType#USER} role.
+     *
+     * <p>Chunks already written stay committed if a later one fails.</p>
+     *
+     * @param body   the request body
+     * @param format the body format
+     * @return the number of imported, conflicting and invalid rows
+     * @throws CustomException with {@link ErrorCode#BAD_REQUEST} if the CSV header is missing or unknown
+     */
+    public UserImportResult importUsers(InputStream body, Format format) {
+        long start = System.nanoTime();
+        UserImportResult result = new UserImportResult();
+        Long roleId = roleRegistry.get(RoleType.USER).getId();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            List<Row> chunk = new ArrayList<>(batchSize);
+            boolean hashedPasswords = format == Format.CSV && readCsvHeader(reader);
+            long lineNumber = format == Format.CSV ? 1 : 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                Row row = format == Format.CSV
+                        ? parseCsv(lineNumber, line, hashedPasswords)
+                        : parseJson(lineNumber, line);
+                String problem = validate(row);
+                if (problem != null) {
+                    result.addInvalid(lineNumber, row.username, problem);
+                    continue;
+                }
+                chunk.add(row);
+                if (chunk.size() == batchSize) {
+                    write(chunk, roleId, result);
+                    chunk.clear();
+                }
+            }
+            write(chunk, roleId, result);
+        } catch (IOException e) {
+            throw new CustomException("Failed to read import body: " + e.getMessage(), ErrorCode.BAD_REQUEST.getCode());
+        }
+        log.info("Imported {} users ({} conflicts, {} invalid) in {} ms", result.getImported(),
+                result.getConflicts(), result.getInvalid(), (System.nanoTime() - start) / 1_000_000);
+        return result;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashingExecutor.shutdownNow();
+    }
+
+    private boolean readCsvHeader(BufferedReader reader) throws IOException {
+        String header = reader.readLine();
+        String normalized = header == null ? "" : header.replace(" ", "").toLowerCase();
+        return switch (normalized) {
+            case "username,password" -> false;
+            case "username,passwordhash" -> true;
+            default -> throw new CustomException("CSV header must be username,password or username,passwordHash",
+                    ErrorCode.BAD_REQUEST.getCode());
+        };
+    }
+
+    private static Row parseCsv(long lineNumber, String line, boolean hashed) {
+        // Usernames cannot contain commas, so everything after the first one is the password.
+        int separator = line.indexOf(',');
+        if (separator < 0) {
+            return new Row(lineNumber, line.trim(), null, hashed);
+        }
+        return new Row(lineNumber, line.substring(0, separator).trim(), line.substring(separator + 1), hashed);
+    }
+
+    private Row parseJson(long lineNumber, String line) {
+        try {
+            JsonNode node = objectMapper.readTree(line);
+            String username = node.path("username").isTextual() ? node.get("username").asText() : null;
+            if (node.path("passwordHash").isTextual()) {
+                return new Row(lineNumber, username, node.get("passwordHash").asText(), true);
+            }
+            return new Row(lineNumber, username,
+                    node.path("password").isTextual() ? node.get("password").asText() : null, false);
+        } catch (JsonProcessingException e) {
+            return new Row(lineNumber, null, null, false);
+        }
+    }
+
+    private static String validate(Row row) {
+        if (row.username == null || row.username.isBlank()) {
+            return "Username is required";
+        }
+        if (row.password == null || row.password.isBlank()) {
+            return "Password is required";
+        }
+        if (row.hashed && BCryptCostCalibrator.costOf(row.password) < 0) {
+            return "Password hash is not a BCrypt hash";
+        }
+        return null;
+    }
+
+    private void write(List<Row> chunk, Long roleId, UserImportResult result) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        hashAll(chunk);
+        transactionTemplate.executeWithoutResult(status -> {
+            long[] ids = idAllocator.allocate(USERS_SEQUENCE, chunk.size());
+            List<Object[]> users = new ArrayList<>(chunk.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                Row row = chunk.get(i);
+                users.add(new Object[]{ids[i], row.username, row.password});
+            }
+            int[] counts = jdbcTemplate.batchUpdate(INSERT_USER, users);
+            List<Object[]> userRoles = new ArrayList<>(chunk.size());
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] > 0 || counts[i] == Statement.SUCCESS_NO_INFO) {
+                    userRoles.add(new Object[]{ids[i], roleId});
+                } else {
+                    result.addConflict(chunk.get(i).lineNumber, chunk.get(i).username);
+                }
+            }
+            jdbcTemplate.batchUpdate(INSERT_USER_ROLE, userRoles);
+            result.addImported(userRoles.size());
+        });
+    }
+
+    private void hashAll(List<Row> chunk) {
+        List<Row> raw = chunk.stream().filter(row -> !row.hashed).toList();
+        if (raw.isEmpty()) {
+            return;
+        }
+        int sliceSize = (raw.size() + hashingThreads - 1) / hashingThreads;
+        List<Callable<Void>> slices = new ArrayList<>(hashingThreads);
+        for (int from = 0; from < raw.size(); from += sliceSize) {
+            List<Row> slice = raw.subList(from, Math.min(raw.size(), from + sliceSize));
+            slices.add(() -> {
+                for (Row row : slice) {
+                    row.password = passwordEncoder.encode(row.password);
+                }
+                return null;
+            });
+        }
+        try {
+            for (Future<Void> future : hashingExecutor.invokeAll(slices)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CustomException("User import interrupted", ErrorCode.SERVICE_UNAVAILABLE.getCode());
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private static final class Row {
+        private final long lineNumber;
+        private final String username;
+        private String password;
+        private final boolean hashed;
+
+        private Row(long lineNumber, String username, String password, boolean hashed) {
+            this.lineNumber = lineNumber;
+            this.username = username;
+            this.password = password;
+            this.hashed = hashed;
+        }
+    }
+}
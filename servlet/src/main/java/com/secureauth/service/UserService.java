@@ -0,0 +1,324 @@
+package com.secureauth.service;
+
+import com.secureauth.cache.UserDetailsCacheInvalidator;
+import com.secureauth.entity.Role;
+import com.secureauth.entity.User;
+import com.secureauth.entity.enums.RoleType;
+import com.secureauth.exception.CustomException;
+import com.secureauth.exception.ErrorCode;
+import com.secureauth.exception.RevocationPendingException;
+import com.secureauth.metrics.AuthMetrics;
+import com.secureauth.metrics.AuthMetrics.UserOperation;
+import com.secureauth.metrics.AuthMetrics.UserStage;
+import com.secureauth.repository.UserCredentials;
+import com.secureauth.repository.UserRepository;
+import org.hibernate.exception.ConstraintViolationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Manages user-related operations, including authentication and registration.
+ */
+@Service
+public class UserService implements UserDetailsService {
+
+    public static final String USER_DETAILS_CACHE = "userDetails";
+
+    private static final Logger log = LoggerFactory.getLogger(UserService.class);
+    private static final String USERNAME_CONSTRAINT = "users_username_key";
+    private final UserRepository userRepository;
+    private final RoleRegistry roleRegistry;
+    private final PasswordHashingService passwordHashingService;
+    private final SecurityVersionService securityVersionService;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenGenerationService tokenGenerationService;
+    private final UserDetailsCacheInvalidator userDetailsCacheInvalidator;
+    private final TransactionTemplate transactionTemplate;
+    private final AuthMetrics metrics;
+
+    public UserService(UserRepository userRepository,
+                       RoleRegistry roleRegistry,
+                       PasswordHashingService passwordHashingService,
+                       SecurityVersionService securityVersionService,
+                       RefreshTokenService refreshTokenService,
+                       TokenGenerationService tokenGenerationService,
+                       UserDetailsCacheInvalidator userDetailsCacheInvalidator,
+                       PlatformTransactionManager transactionManager,
+                       AuthMetrics metrics) {
+        this.userRepository = userRepository;
+        this.roleRegistry = roleRegistry;
+        this.passwordHashingService = passwordHashingService;
+        this.securityVersionService = securityVersionService;
+        this.refreshTokenService = refreshTokenService;
+        this.tokenGenerationService = tokenGenerationService;
+        this.userDetailsCacheInvalidator = userDetailsCacheInvalidator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.metrics = metrics;
+    }
+
+    /**
+     * Loads user details by username for authentication.
+     * Results are cached; concurrent misses for the same username share a single load,
+     * which reads only the credential columns, see {@link #toUser(List)}. The load always
+     * reads the primary: after an eviction, a lagging replica would cache the old roles again.
+     *
+     * @param username the username
+     * @return the UserDetails
+     * @throws UsernameNotFoundException if the user is not found
+     */
+    @Override
+    @Cacheable(cacheNames = USER_DETAILS_CACHE, sync = true)
+    public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        log.debug("Loading user: {}", username);
+        User user = toUser(userRepository.findPrimaryCredentialsByUsername(username))
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+        return new org.springframework.security.core.userdetails.User(
+                user.getUsername(),
+                user.getPassword(),
+                user.getRoles()
+        );
+    }
+
+    /**
+     * Registers a new user with the given details.
+     * A single insert; the unique constraint on the username rejects duplicates, so concurrent
+     * signups for the same name cannot both succeed.
+     *
+     * @param username the username
+     * @param password the password
+     * @return the registered User
+     * @throws CustomException if the username already exists
+     */
+    public User signup(String username, String password) {
+        log.info("Registering new user: {}", username);
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            User user = new User();
+            user.setUsername(username);
+            user.setPassword(passwordHashingService.encode(password));
+            long stageStart = metrics.recordUserStage(UserOperation.SIGN_UP, UserStage.BCRYPT, start);
+
+            Set<Role> roles = new HashSet<>();
+            roles.add(roleRegistry.get(RoleType.USER));
+            user.setRoles(roles);
+
+            User saved;
+            try {
+                saved = userRepository.saveAndFlush(user);
+            } catch (DataIntegrityViolationException e) {
+                if (!violates(e, USERNAME_CONSTRAINT)) {
+                    throw e;
+                }
+                throw new CustomException("Username already exists", ErrorCode.ALREADY_EXIST.getCode());
+            } finally {
+                metrics.recordUserStage(UserOperation.SIGN_UP, UserStage.DB, stageStart);
+            }
+            userDetailsCacheInvalidator.evict(username);
+            success = true;
+            return saved;
+        } finally {
+            metrics.recordUser(UserOperation.SIGN_UP, success, start);
+        }
+    }
+
+    /**
+     * Authenticates a user with the given credentials.
+     * A password hashed with a lower BCrypt cost than the configured one is re-hashed.
+     *
+     * @param username the username
+     * @param password the password
+     * @return the authenticated User, detached and without its tokens, see {@link #toUser(List)}
+     * @throws CustomException if credentials are invalid
+     */
+    public User signIn(String username, String password) {
+        log.debug("Authenticating user: {}", username);
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            User user = toUser(userRepository.findCredentialsByUsername(username)).orElse(null);
+            long stageStart = metrics.recordUserStage(UserOperation.SIGN_IN, UserStage.DB, start);
+            if (user == null) {
+                throw new CustomException("Invalid username or password",
+                        ErrorCode.INVALID_EMAIL_OR_PASSWORD.getCode());
+            }
+
+            boolean matches = passwordHashingService.matches(password, user.getPassword());
+            metrics.recordUserStage(UserOperation.SIGN_IN, UserStage.BCRYPT, stageStart);
+            if (!matches) {
+                throw new CustomException("Invalid username or password",
+                        ErrorCode.INVALID_EMAIL_OR_PASSWORD.getCode());
+            }
+            if (passwordHashingService.needsRehash(user.getPassword())) {
+                rehash(user, password);
+            }
+            success = true;
+            return user;
+        } finally {
+            metrics.recordUser(UserOperation.SIGN_IN, success, start);
+        }
+    }
+
+    /**
+     * Changes a user's password and invalidates all tokens issued before the change.
+     *
+     * @param username        the username
+     * @param currentPassword the current password
+     * @param newPassword     the new password
+     * @return the updated User
+     * @throws CustomException if the current password is wrong
+     */
+    public User changePassword(String username, String currentPassword, String newPassword) {
+        log.info("Changing password for user: {}", username);
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new CustomException("User not found", ErrorCode.NO_USERS_FOUND.getCode()));
+        if (!passwordHashingService.matches(currentPassword, user.getPassword())) {
+            throw new CustomException("Current password is incorrect", ErrorCode.PASSWORD_INVALID.getCode());
+        }
+        user.setPassword(passwordHashingService.encode(newPassword));
+        return saveWithNewSecurityVersion(user);
+    }
+
+    /**
+     * Replaces a user's roles and invalidates all tokens issued before the change.
+     *
+     * @param username  the username
+     * @param roleTypes the new roles
+     * @return the updated User
+     * @throws CustomException if the user does not exist
+     */
+    public User updateRoles(String username, Set<RoleType> roleTypes) {
+        log.info("Updating roles for user: {} to {}", username, roleTypes);
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new CustomException("User not found", ErrorCode.NO_USERS_FOUND.getCode()));
+        Set<Role> roles = new HashSet<>();
+        for (RoleType roleType : roleTypes) {
+            roles.add(roleRegistry.get(roleType));
+        }
+        user.setRoles(roles);
+        return saveWithNewSecurityVersion(user);
+    }
+
+    /**
+     * Signs a user out of every session: all refresh tokens are revoked and all access tokens stop working.
+     *
+     * @param username the username
+     * @throws CustomException if the user does not exist
+     */
+    public void signOutEverywhere(String username) {
+        log.info("Revoking all sessions of user: {}", username);
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new CustomException("User not found", ErrorCode.NO_USERS_FOUND.getCode()));
+        refreshTokenService.revokeAll(user);
+        tokenGenerationService.revokeUser(username);
+    }
+
+    /**
+     * Signs every holder of a role out of every session.
+     *
+     * @param roleType the role
+     */
+    public void signOutEverywhere(RoleType roleType) {
+        log.info("Revoking all sessions of role: {}", roleType);
+        refreshTokenService.revokeAll(roleType);
+        tokenGenerationService.revokeAuthority(roleRegistry.get(roleType).getAuthority());
+    }
+
+    /**
+     * Builds a user from its ID, username, password hash, security version and roles, read in
+     * one query over the username index without hydrating or dirty-checking a managed entity.
+     * Roles come from the {@link RoleRegistry}, so the returned user can be referenced by
+     * new entities, but it is detached and its {@code tokens} are not loaded: it must never
+     * be saved.
+     *
+     * @param rows the rows of {@link UserRepository#findCredentialsByUsername(String)}
+     * @return the user, if found
+     */
+    private Optional<User> toUser(List<UserCredentials> rows) {
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        UserCredentials first = rows.get(0);
+        Set<Role> roles = new HashSet<>();
+        for (UserCredentials row : rows) {
+            if (row.getRole() != null) {
+                roles.add(roleRegistry.get(row.getRole()));
+            }
+        }
+        User user = new User();
+        user.setId(first.getId());
+        user.setUsername(first.getUsername());
+        user.setPassword(first.getPassword());
+        user.setSecurityVersion(first.getSecurityVersion());
+        user.setRoles(roles);
+        return Optional.of(user);
+    }
+
+    /**
+     * Returns whether a write failed on the given constraint, as named in the schema.
+     */
+    private static boolean violates(DataIntegrityViolationException e, String constraintName) {
+        for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                return constraintName.equalsIgnoreCase(violation.getConstraintName());
+            }
+        }
+        return false;
+    }
+
+    private void rehash(User user, String password) {
+        try {
+            long start = System.nanoTime();
+            String encoded = passwordHashingService.encode(password);
+            start = metrics.recordUserStage(UserOperation.SIGN_IN, UserStage.BCRYPT, start);
+            if (userRepository.updatePassword(user.getId(), user.getPassword(), encoded) == 1) {
+                user.setPassword(encoded);
+            }
+            metrics.recordUserStage(UserOperation.SIGN_IN, UserStage.DB, start);
+            log.info("Re-hashed password for user: {}", user.getUsername());
+        } catch (CustomException e) {
+            // The sign-in already succeeded; try again on the next one.
+            log.debug("Skipping password re-hash for user: {}", user.getUsername());
+        } catch (DataAccessException e) {
+            log.warn("Could not store re-hashed password for user {}: {}", user.getUsername(), e.getMessage());
+        }
+    }
+
+    /**
+     * Saves a user with a new security version and revokes its refresh tokens in one transaction,
+     * then publishes the version, bumps the user's generation and evicts the user's cached details
+     * on every node. Redis only hears about changes that were committed, and a failed save leaves
+     * the refresh tokens alone. Once the change is committed, Redis failures no longer fail the
+     * request: the version and the generation bump are retried in the background.
+     */
+    private User saveWithNewSecurityVersion(User user) {
+        user.setSecurityVersion(user.getSecurityVersion() + 1);
+        User saved = transactionTemplate.execute(status -> {
+            User updated = userRepository.save(user);
+            refreshTokenService.revokeAll(updated);
+            return updated;
+        });
+        securityVersionService.publish(saved.getUsername(), saved.getSecurityVersion());
+        try {
+            tokenGenerationService.revokeUser(saved.getUsername());
+        } catch (RevocationPendingException e) {
+            log.warn("Token generation bump for {} pending after committed change", saved.getUsername());
+        }
+        userDetailsCacheInvalidator.evict(saved.getUsername());
+        return saved;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,57 @@
+-- Schema for users, roles and refresh tokens. Hibernate validates the entities against it
+-- at startup (spring.jpa.hibernate.ddl-auto=validate); every later change is a new migration.
+
+-- Ids are allocated in blocks of 50 (SequenceIdAllocator.ALLOCATION_SIZE)
+create sequence users_seq start with 1 increment by 50;
+create sequence roles_seq start with 1 increment by 50;
+create sequence auth_tokens_seq start with 1 increment by 50;
+
+create table users (
+    id               bigint       not null,
+    username         varchar(255) not null,
+    password         varchar(255) not null,
+    security_version bigint       not null,
+    constraint users_pkey primary key (id),
+    -- Covers the credentials lookup behind every sign-in, so it is answered from the index alone
+    constraint users_username_key unique (username) include (id, password, security_version)
+);
+
+create table roles (
+    id   bigint       not null,
+    name varchar(255) not null check (name in ('ADMIN', 'STAFF', 'USER')),
+    constraint roles_pkey primary key (id),
+    constraint roles_name_key unique (name) include (id)
+);
+
+create table user_roles (
+    user_id bigint not null,
+    role_id bigint not null,
+    -- User first: the credentials lookup joins from one user to its roles
+    constraint user_roles_pkey primary key (user_id, role_id),
+    constraint user_roles_user_id_fkey foreign key (user_id) references users (id),
+    constraint user_roles_role_id_fkey foreign key (role_id) references roles (id)
+);
+
+-- Revoking a role's sessions joins from the role to its users
+create index idx_user_roles_role_id_user_id on user_roles (role_id, user_id);
+
+-- Revocations update rows in place; the free space lets them stay heap-only updates
+create table auth_tokens (
+    id          bigint                      not null,
+    token_hash  varchar(43)                 not null,
+    family_id   varchar(36)                 not null,
+    expiry_date timestamp(6) with time zone not null,
+    user_id     bigint                      not null,
+    revoked     boolean                     not null,
+    constraint auth_tokens_pkey primary key (id),
+    -- Refresh token lookups go through the unique constraint
+    constraint auth_tokens_token_hash_key unique (token_hash),
+    constraint auth_tokens_user_id_fkey foreign key (user_id) references users (id)
+) with (fillfactor = 90);
+
+-- Reuse detection revokes a whole family
+create index idx_auth_tokens_family_id on auth_tokens (family_id);
+-- Signing a user out everywhere revokes all of its tokens
+create index idx_auth_tokens_user_id on auth_tokens (user_id);
+-- The sweeper walks expired tokens with a keyset cursor over (expiry_date, id)
+create index idx_auth_tokens_expiry_date_id on auth_tokens (expiry_date, id);
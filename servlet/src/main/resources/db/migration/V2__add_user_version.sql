@@ -0,0 +1,3 @@
+-- Optimistic lock for User (@Version). Every write through Hibernate, the password re-hash
+-- and the reactive edition's updates increment it, so a write based on a stale read fails.
+alter table users add column version bigint not null default 0;
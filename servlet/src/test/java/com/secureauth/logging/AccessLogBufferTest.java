@@ -0,0 +1,65 @@
+package com.secureauth.logging;
+
+import com.secureauth.metrics.AuthMetrics.FilterOutcome;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AccessLogBufferTest {
+
+    @Test
+    void roundsCapacityUpToPowerOfTwo() {
+        assertEquals(8, new AccessLogBuffer(5).capacity());
+        assertEquals(8, new AccessLogBuffer(8).capacity());
+    }
+
+    @Test
+    void dropsEntriesWhenFull() {
+        AccessLogBuffer buffer = new AccessLogBuffer(2);
+
+        assertTrue(offer(buffer, "/a"));
+        assertTrue(offer(buffer, "/b"));
+        assertFalse(offer(buffer, "/c"));
+    }
+
+    @Test
+    void drainsInOrderAndReusesSlots() {
+        AccessLogBuffer buffer = new AccessLogBuffer(2);
+        List<String> paths = new ArrayList<>();
+        for (int round = 0; round < 3; round++) {
+            offer(buffer, "/" + round + "a");
+            offer(buffer, "/" + round + "b");
+            assertEquals(2, buffer.drain(entry -> paths.add(entry.path())));
+        }
+
+        assertEquals(List.of("/0a", "/0b", "/1a", "/1b", "/2a", "/2b"), paths);
+        assertEquals(0, buffer.drain(entry -> paths.add(entry.path())));
+    }
+
+    @Test
+    void keepsEveryEntryOfConcurrentProducers() throws InterruptedException {
+        AccessLogBuffer buffer = new AccessLogBuffer(4096);
+        Thread[] producers = new Thread[4];
+        for (int i = 0; i < producers.length; i++) {
+            producers[i] = Thread.ofPlatform().start(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    offer(buffer, "/");
+                }
+            });
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+
+        assertEquals(4000, buffer.drain(entry -> { }));
+    }
+
+    private static boolean offer(AccessLogBuffer buffer, String path) {
+        return buffer.offer(0, "GET", path, 200, 1, FilterOutcome.OK, null, "127.0.0.1");
+    }
+}
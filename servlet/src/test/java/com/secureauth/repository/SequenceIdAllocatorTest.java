@@ -0,0 +1,47 @@
+package com.secureauth.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class SequenceIdAllocatorTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final SequenceIdAllocator allocator = new SequenceIdAllocator(jdbcTemplate);
+
+    @Test
+    void allocatesNothingWithoutQuerying() {
+        assertEquals(0, allocator.allocate("users_seq", 0).length);
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void takesWholeBlocksBelowEachHighValue() {
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq("users_seq"), eq(3)))
+                .thenReturn(List.of(101L, 151L, 201L));
+
+        long[] ids = allocator.allocate("users_seq", 120);
+
+        assertArrayEquals(LongStream.rangeClosed(52, 171).toArray(), ids);
+    }
+
+    @Test
+    void topsUpShortBlockOfFreshSequence() {
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq("users_seq"), eq(1)))
+                .thenReturn(List.of(1L), List.of(51L));
+
+        long[] ids = allocator.allocate("users_seq", 3);
+
+        assertArrayEquals(new long[] {1, 2, 3}, ids);
+    }
+}
@@ -0,0 +1,123 @@
+package com.secureauth.service;
+
+import com.secureauth.metrics.AuthMetrics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AuthTokenSweeperTest {
+
+    private static final Timestamp EARLIER = Timestamp.valueOf("2026-01-01 00:00:00");
+    private static final Timestamp LATER = Timestamp.valueOf("2026-01-02 00:00:00");
+
+    private final Connection connection = mock(Connection.class);
+    private final PreparedStatement delete = mock(PreparedStatement.class);
+    private final AuthMetrics metrics = mock(AuthMetrics.class);
+    private final Deque<ResultSet> batches = new ArrayDeque<>();
+    private boolean lockAvailable = true;
+    private AuthTokenSweeper sweeper;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws Exception {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenAnswer(invocation ->
+                invocation.<ConnectionCallback<?>>getArgument(0).doInConnection(connection));
+        when(connection.prepareStatement(anyString())).thenAnswer(invocation -> {
+            String sql = invocation.getArgument(0);
+            if (sql.contains("delete from auth_tokens")) {
+                return delete;
+            }
+            PreparedStatement statement = mock(PreparedStatement.class);
+            // Advisory lock calls and the lag query each return a single row.
+            boolean locked = !sql.contains("pg_try_advisory_lock") || lockAvailable;
+            ResultSet result = rows(new Object[] {null, null, locked});
+            when(statement.executeQuery()).thenReturn(result);
+            return statement;
+        });
+        when(delete.executeQuery()).thenAnswer(invocation -> batches.isEmpty() ? rows() : batches.poll());
+        sweeper = new AuthTokenSweeper(jdbcTemplate, metrics, true, 2, 1, 10_000, 0, 60_000);
+    }
+
+    @Test
+    void advancesCursorToGreatestDeletedKey() throws Exception {
+        // RETURNING hands the rows back in no particular order.
+        batches.add(rows(new Object[] {LATER, 5L}, new Object[] {EARLIER, 9L}));
+        batches.add(rows(new Object[] {LATER, 8L}));
+
+        sweeper.sweep();
+
+        assertEquals(List.of(new Timestamp(0), LATER), boundExpiries());
+        assertEquals(List.of(0L, 5L), boundIds());
+        verify(metrics).countTokensPurged(2);
+        verify(metrics).countTokensPurged(1);
+    }
+
+    @Test
+    void breaksExpiryTiesById() throws Exception {
+        batches.add(rows(new Object[] {EARLIER, 7L}, new Object[] {EARLIER, 3L}));
+
+        sweeper.sweep();
+
+        assertEquals(List.of(new Timestamp(0), EARLIER), boundExpiries());
+        assertEquals(List.of(0L, 7L), boundIds());
+    }
+
+    @Test
+    void skipsRunWhileAnotherNodeHoldsLock() throws Exception {
+        lockAvailable = false;
+
+        sweeper.sweep();
+
+        verify(connection, never()).prepareStatement(contains("delete from auth_tokens"));
+        verify(metrics, never()).countTokensPurged(anyInt());
+    }
+
+    private List<Timestamp> boundExpiries() throws Exception {
+        ArgumentCaptor<Timestamp> captor = ArgumentCaptor.forClass(Timestamp.class);
+        verify(delete, atLeastOnce()).setTimestamp(eq(1), captor.capture());
+        return captor.getAllValues();
+    }
+
+    private List<Long> boundIds() throws Exception {
+        ArgumentCaptor<Long> captor = ArgumentCaptor.forClass(Long.class);
+        verify(delete, atLeastOnce()).setLong(eq(2), captor.capture());
+        return captor.getAllValues();
+    }
+
+    /**
+     * A result set of {@code (expiry_date, id)} rows; a third column answers {@code getBoolean(1)}.
+     */
+    private static ResultSet rows(Object[]... rows) throws Exception {
+        ResultSet result = mock(ResultSet.class);
+        AtomicInteger cursor = new AtomicInteger(-1);
+        when(result.next()).thenAnswer(invocation -> cursor.incrementAndGet() < rows.length);
+        when(result.getTimestamp(1)).thenAnswer(invocation -> rows[cursor.get()][0]);
+        when(result.getLong(2)).thenAnswer(invocation -> rows[cursor.get()][1]);
+        when(result.getBoolean(1)).thenAnswer(invocation -> rows[cursor.get()][2]);
+        return result;
+    }
+}
@@ -0,0 +1,123 @@
+package com.secureauth.service;
+
+import com.secureauth.exception.RateLimitExceededException;
+import com.secureauth.metrics.AuthMetrics;
+import com.secureauth.metrics.AuthMetrics.RateLimitOutcome;
+import com.secureauth.metrics.AuthMetrics.UserOperation;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.http.HttpHeaders;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Covers how the limiter calls the token bucket script and turns its reply into a decision.
+ * The script's reply is {allowed, retry after ms, remaining, limiting bucket index, reset ms}.
+ */
+class RateLimiterTest {
+
+    @SuppressWarnings("unchecked")
+    private final RedisTemplate<String, String> redisTemplate = mock(RedisTemplate.class);
+    private final AuthMetrics metrics = mock(AuthMetrics.class);
+    private final RateLimiter rateLimiter = new RateLimiter(redisTemplate, CircuitBreaker.ofDefaults("redis"), metrics,
+            true, 20, 10, 5, 1, 5, 1, 100);
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void drawsFromIpAndUsernameBucketsInOneCall() {
+        replyWith(1L, 0L, 4L, 1L, 12_000L);
+
+        RateLimiter.Decision decision = rateLimiter.acquire(UserOperation.SIGN_IN, "10.0.0.1", "Alice");
+
+        ArgumentCaptor<List<String>> keys = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<Object> args = ArgumentCaptor.forClass(Object.class);
+        verify(redisTemplate).execute(any(RedisScript.class), keys.capture(),
+                args.capture(), args.capture(), args.capture(), args.capture());
+        assertEquals(List.of("rl:signin:ip:10.0.0.1", "rl:signin:user:alice"), keys.getValue());
+        assertEquals(List.of("20", Double.toString(10 / 60_000.0), "5", Double.toString(1 / 60_000.0)),
+                args.getAllValues());
+        assertTrue(decision.allowed());
+        HttpHeaders headers = decision.headers();
+        assertEquals("5", headers.getFirst("RateLimit-Limit"));
+        assertEquals("4", headers.getFirst("RateLimit-Remaining"));
+        assertEquals("12", headers.getFirst("RateLimit-Reset"));
+        assertNull(headers.getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void rejectsEmptyBucketWithRetryAfter() {
+        replyWith(0L, 1_500L, 0L, 0L, 120_000L);
+
+        RateLimitExceededException e = assertThrows(RateLimitExceededException.class,
+                () -> rateLimiter.acquire(UserOperation.SIGN_IN, "10.0.0.1", "alice"));
+
+        HttpHeaders headers = e.getHeaders();
+        assertEquals("20", headers.getFirst("RateLimit-Limit"));
+        assertEquals("0", headers.getFirst("RateLimit-Remaining"));
+        assertEquals("120", headers.getFirst("RateLimit-Reset"));
+        assertEquals("2", headers.getFirst(HttpHeaders.RETRY_AFTER));
+        verify(metrics).countRateLimit(UserOperation.SIGN_IN, RateLimitOutcome.DENIED);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void rejectsBlockedBucketLocallyUntilItRefills() {
+        replyWith(0L, 60_000L, 0L, 0L, 60_000L);
+        assertThrows(RateLimitExceededException.class,
+                () -> rateLimiter.acquire(UserOperation.SIGN_UP, "10.0.0.1", "alice"));
+
+        RateLimitExceededException e = assertThrows(RateLimitExceededException.class,
+                () -> rateLimiter.acquire(UserOperation.SIGN_UP, "10.0.0.1", "bob"));
+
+        assertEquals("5", e.getHeaders().getFirst("RateLimit-Limit"));
+        verify(redisTemplate, times(1)).execute(any(RedisScript.class), anyList(), any(), any());
+        verify(metrics).countRateLimit(UserOperation.SIGN_UP, RateLimitOutcome.DENIED_LOCALLY);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void failsOpenWithoutHeadersWhileRedisIsDown() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(), any(), any(), any()))
+                .thenThrow(new RedisConnectionFailureException("down"));
+
+        RateLimiter.Decision decision = rateLimiter.acquire(UserOperation.SIGN_IN, "10.0.0.1", "alice");
+
+        assertTrue(decision.allowed());
+        assertTrue(decision.headers().isEmpty());
+        verify(metrics).countRateLimit(UserOperation.SIGN_IN, RateLimitOutcome.FAILED_OPEN);
+    }
+
+    @Test
+    void roundsRetryAfterUpToWholeSeconds() {
+        HttpHeaders headers = new RateLimiter.Decision(false, 5, 0, 10, 10).headers();
+
+        assertEquals("1", headers.getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals("1", headers.getFirst("RateLimit-Reset"));
+    }
+
+    /**
+     * Stubs the script for both sign-in (two buckets) and sign-up (one bucket).
+     */
+    @SuppressWarnings("unchecked")
+    private void replyWith(Long... reply) {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(), any(), any(), any()))
+                .thenReturn(List.of(reply));
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(), any()))
+                .thenReturn(List.of(reply));
+    }
+}
@@ -0,0 +1,85 @@
+package com.secureauth.service;
+
+import com.secureauth.entity.AuthToken;
+import com.secureauth.entity.User;
+import com.secureauth.exception.CustomException;
+import com.secureauth.repository.AuthTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RefreshTokenServiceTest {
+
+    private final AuthTokenRepository repository = mock(AuthTokenRepository.class);
+    private final Map<String, AuthToken> stored = new HashMap<>();
+    private RefreshTokenService service;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(repository.save(any(AuthToken.class))).thenAnswer(invocation -> {
+            AuthToken token = invocation.getArgument(0);
+            stored.put(token.getTokenHash(), token);
+            return token;
+        });
+        when(repository.findByTokenHash(anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(stored.get(invocation.<String>getArgument(0))));
+        service = new RefreshTokenService(repository, transactionManager, 60_000);
+        user = new User();
+        user.setUsername("alice");
+    }
+
+    @Test
+    void rotatesWithinFamilyAndRevokesPresentedToken() {
+        RefreshTokenService.IssuedToken issued = service.issue(user);
+
+        RefreshTokenService.IssuedToken rotated = service.rotate(issued.token());
+
+        assertEquals(issued.familyId(), rotated.familyId());
+        assertNotEquals(issued.token(), rotated.token());
+        assertEquals(2, stored.size());
+        assertEquals(1, stored.values().stream().filter(AuthToken::isRevoked).count());
+    }
+
+    @Test
+    void revokesFamilyWhenRotatedTokenIsReused() {
+        RefreshTokenService.IssuedToken issued = service.issue(user);
+        service.rotate(issued.token());
+
+        assertThrows(CustomException.class, () -> service.rotate(issued.token()));
+        verify(repository).revokeFamily(issued.familyId());
+    }
+
+    @Test
+    void rejectsExpiredTokenWithoutRevokingFamily() {
+        RefreshTokenService.IssuedToken issued = service.issue(user);
+        stored.values().forEach(token -> token.setExpiryDate(Instant.now().minusSeconds(1)));
+
+        assertThrows(CustomException.class, () -> service.rotate(issued.token()));
+        verify(repository, never()).revokeFamily(anyString());
+    }
+
+    @Test
+    void rejectsUnknownToken() {
+        assertThrows(CustomException.class, () -> service.rotate("unknown"));
+        verify(repository, never()).revokeFamily(anyString());
+    }
+}
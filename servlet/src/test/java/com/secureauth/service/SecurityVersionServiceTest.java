@@ -0,0 +1,73 @@
+package com.secureauth.service;
+
+import com.secureauth.repository.UserRepository;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SecurityVersionServiceTest {
+
+    @SuppressWarnings("unchecked")
+    private final RedisTemplate<String, String> redisTemplate = mock(RedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final ValueOperations<String, String> values = mock(ValueOperations.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private SecurityVersionService service;
+
+    @BeforeEach
+    void setUp() {
+        when(redisTemplate.opsForValue()).thenReturn(values);
+        service = new SecurityVersionService(redisTemplate, userRepository, CircuitBreaker.ofDefaults("redis"));
+    }
+
+    @Test
+    void retriesVersionRedisCouldNotTake() {
+        doThrow(new RedisConnectionFailureException("down")).doNothing()
+                .when(values).set(eq("secver:alice"), eq("2"), anyLong(), eq(TimeUnit.HOURS));
+
+        service.publish("alice", 2);
+        service.retryPending();
+        service.retryPending();
+
+        verify(values, times(2)).set(eq("secver:alice"), eq("2"), anyLong(), eq(TimeUnit.HOURS));
+    }
+
+    @Test
+    void readsDatabaseWhileVersionIsPending() {
+        doThrow(new RedisConnectionFailureException("down"))
+                .when(values).set(anyString(), anyString(), anyLong(), eq(TimeUnit.HOURS));
+        when(values.get("secver:alice")).thenReturn("1");
+        when(userRepository.findSecurityVersionByUsername("alice")).thenReturn(Optional.of(2L));
+
+        service.publish("alice", 2);
+
+        assertFalse(service.isCurrent("alice", 1));
+        assertTrue(service.isCurrent("alice", 2));
+    }
+
+    @Test
+    void answersFromDatabaseWhenCachingVersionFails() {
+        when(userRepository.findSecurityVersionByUsername("alice")).thenReturn(Optional.of(2L));
+        when(values.setIfAbsent(anyString(), anyString(), anyLong(), eq(TimeUnit.HOURS)))
+                .thenThrow(new RedisConnectionFailureException("down"));
+
+        assertTrue(service.isCurrent("alice", 2));
+    }
+}
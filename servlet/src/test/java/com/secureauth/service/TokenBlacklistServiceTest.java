@@ -0,0 +1,147 @@
+package com.secureauth.service;
+
+import com.secureauth.cache.TrackingRedisCache;
+import com.secureauth.metrics.AuthMetrics;
+import com.secureauth.security.JwtTokenProvider;
+import com.secureauth.service.TokenBlacklistService.DegradedMode;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.longThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TokenBlacklistServiceTest {
+
+    @SuppressWarnings("unchecked")
+    private final RedisTemplate<String, String> redisTemplate = mock(RedisTemplate.class);
+    private final RedisMessageListenerContainer listenerContainer = mock(RedisMessageListenerContainer.class);
+    private final CircuitBreaker circuitBreaker = CircuitBreaker.ofDefaults("redis");
+
+    @BeforeEach
+    void setUp() {
+        when(redisTemplate.scan(any(ScanOptions.class))).thenAnswer(invocation -> mock(Cursor.class));
+        when(listenerContainer.isListening()).thenReturn(true);
+    }
+
+    @Test
+    void localModeAnswersFromNearCacheWhileCircuitIsOpen() {
+        TokenBlacklistService blacklist = blacklist(DegradedMode.LOCAL);
+        blacklist.resyncNearCache();
+        revoke(blacklist, "revoked");
+
+        circuitBreaker.transitionToForcedOpenState();
+
+        assertTrue(blacklist.isTokenBlacklisted("revoked"));
+        assertFalse(blacklist.isTokenBlacklisted("live"));
+    }
+
+    @Test
+    void localModeCountsBloomCandidatesAsRevoked() {
+        TokenBlacklistService blacklist = blacklist(DegradedMode.LOCAL);
+        blacklist.resyncNearCache();
+        // The exact set holds one key, so the first revocation is left only in the filter.
+        revoke(blacklist, "older");
+        revoke(blacklist, "newer");
+
+        when(redisTemplate.hasKey(anyString())).thenThrow(new RedisConnectionFailureException("down"));
+
+        assertTrue(blacklist.isTokenBlacklisted("older"));
+    }
+
+    @Test
+    void localModeKeepsLastReplicatedStateOnceOutOfSync() {
+        TokenBlacklistService blacklist = blacklist(DegradedMode.LOCAL);
+        blacklist.resyncNearCache();
+        revoke(blacklist, "revoked");
+        // The subscription drops and the rebuild fails, so the cache stops answering on its own.
+        when(listenerContainer.isListening()).thenReturn(false);
+        when(redisTemplate.scan(any(ScanOptions.class))).thenThrow(new RedisConnectionFailureException("down"));
+        blacklist.resyncNearCache();
+
+        circuitBreaker.transitionToForcedOpenState();
+
+        assertTrue(blacklist.isTokenBlacklisted("revoked"));
+        assertFalse(blacklist.isTokenBlacklisted("live"));
+    }
+
+    @Test
+    void localModeFailsClosedBeforeFirstRebuild() {
+        TokenBlacklistService blacklist = blacklist(DegradedMode.LOCAL);
+
+        circuitBreaker.transitionToForcedOpenState();
+
+        assertThrows(RedisConnectionFailureException.class, () -> blacklist.isTokenBlacklisted("live"));
+    }
+
+    @Test
+    void failClosedModeRejectsLookupsNearCacheCannotAnswer() {
+        TokenBlacklistService blacklist = blacklist(DegradedMode.FAIL_CLOSED);
+        blacklist.resyncNearCache();
+        revoke(blacklist, "older");
+        revoke(blacklist, "newer");
+
+        circuitBreaker.transitionToForcedOpenState();
+
+        assertTrue(blacklist.isTokenBlacklisted("newer"));
+        assertThrows(RedisConnectionFailureException.class, () -> blacklist.isTokenBlacklisted("older"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void copiesLegacyEntriesToTokenIdKeys() {
+        String legacyKey = "blacklisted:header.payload.signature";
+        Cursor<String> cursor = mock(Cursor.class);
+        when(cursor.hasNext()).thenReturn(true, false);
+        when(cursor.next()).thenReturn(legacyKey);
+        when(redisTemplate.scan(any(ScanOptions.class))).thenReturn(cursor);
+        when(redisTemplate.getExpire(legacyKey, TimeUnit.MILLISECONDS)).thenReturn(30_000L);
+        ValueOperations<String, String> values = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(values);
+
+        blacklist(DegradedMode.LOCAL, 60_000).migrateLegacyKeys();
+
+        verify(values).set(eq("blacklisted:" + JwtTokenProvider.legacyTokenId("header.payload.signature")), eq("1"),
+                longThat(ttl -> ttl > 29_000 && ttl <= 30_000), eq(TimeUnit.MILLISECONDS));
+    }
+
+    private TokenBlacklistService blacklist(DegradedMode degradedMode) {
+        return blacklist(degradedMode, 0);
+    }
+
+    private TokenBlacklistService blacklist(DegradedMode degradedMode, long legacyMigrationWindowMs) {
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        beans.addBean("listenerContainer", listenerContainer);
+        return new TokenBlacklistService(redisTemplate,
+                beans.getBeanProvider(RedisMessageListenerContainer.class),
+                new StaticListableBeanFactory().getBeanProvider(TrackingRedisCache.class),
+                new AuthMetrics(new SimpleMeterRegistry()), circuitBreaker, degradedMode,
+                true, 1000, 0.001, 1, 1000, legacyMigrationWindowMs);
+    }
+
+    private static void revoke(TokenBlacklistService blacklist, String tokenId) {
+        String payload = (System.currentTimeMillis() + 60_000) + "|blacklisted:" + tokenId;
+        blacklist.onMessage(new DefaultMessage(TokenBlacklistService.REVOCATION_CHANNEL.getBytes(StandardCharsets.UTF_8),
+                payload.getBytes(StandardCharsets.UTF_8)), null);
+    }
+}
@@ -0,0 +1,214 @@
+package com.secureauth.service;
+
+import com.secureauth.cache.TrackingRedisCache;
+import com.secureauth.exception.RevocationPendingException;
+import com.secureauth.metrics.AuthMetrics;
+import com.secureauth.security.VerifiedToken;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TokenGenerationServiceTest {
+
+    private static final long LOCAL_TTL_MS = 1;
+
+    @SuppressWarnings("unchecked")
+    private final RedisTemplate<String, String> redisTemplate = mock(RedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final ValueOperations<String, String> values = mock(ValueOperations.class);
+    private final StaticListableBeanFactory beans = new StaticListableBeanFactory();
+    private final CircuitBreaker circuitBreaker = CircuitBreaker.ofDefaults("redis");
+    private TokenGenerationService generations;
+    private TokenBlacklistService blacklist;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        when(redisTemplate.opsForValue()).thenReturn(values);
+        when(redisTemplate.scan(any(ScanOptions.class))).thenAnswer(invocation -> mock(Cursor.class));
+        RedisMessageListenerContainer listenerContainer = mock(RedisMessageListenerContainer.class);
+        when(listenerContainer.isListening()).thenReturn(true);
+        beans.addBean("listenerContainer", listenerContainer);
+        generations = new TokenGenerationService(redisTemplate,
+                beans.getBeanProvider(RedisMessageListenerContainer.class), circuitBreaker, true, 60_000, LOCAL_TTL_MS, 100, 100);
+        blacklist = new TokenBlacklistService(redisTemplate,
+                beans.getBeanProvider(RedisMessageListenerContainer.class),
+                new StaticListableBeanFactory().getBeanProvider(TrackingRedisCache.class),
+                new AuthMetrics(new SimpleMeterRegistry()), circuitBreaker, TokenBlacklistService.DegradedMode.LOCAL,
+                true, 1000, 0.01, 10, 1000, 0);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void rejectsTokensIssuedBeforeBump() throws InterruptedException {
+        VerifiedToken token = token(Map.of());
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(), any())).thenReturn(1000L);
+        generations.revokeUser("alice");
+        Thread.sleep(LOCAL_TTL_MS + 5);
+
+        // The generation and then the blacklist key
+        when(values.multiGet(anyList())).thenAnswer(invocation -> Arrays.asList("1000", null));
+        assertFalse(check(token));
+        assertTrue(check(token(Map.of(TokenGenerationService.USER_ENTRY, 1000L))));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void revokesOnlyHoldersOfBumpedAuthority() {
+        Map<String, String> stored = storeInRedis();
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(), any())).thenReturn(2000L);
+        generations.revokeAuthority("ROLE_STAFF");
+        stored.put("gen:role:ROLE_STAFF", "2000");
+
+        assertFalse(check(token(Map.of(), "ROLE_STAFF", "ROLE_USER")));
+        assertTrue(check(token(Map.of(), "ROLE_USER")));
+        assertTrue(check(token(Map.of("ROLE_STAFF", 2000L), "ROLE_STAFF", "ROLE_USER")));
+    }
+
+    @Test
+    void embedsCurrentNonZeroGenerations() {
+        Map<String, String> stored = storeInRedis();
+        stored.put("gen:user:alice", "1000");
+        stored.put("gen:role:ROLE_STAFF", "2000");
+
+        Map<String, Long> current = generations.current("alice",
+                List.of(new SimpleGrantedAuthority("ROLE_STAFF"), new SimpleGrantedAuthority("ROLE_USER")));
+
+        assertEquals(Map.of(TokenGenerationService.USER_ENTRY, 1000L, "ROLE_STAFF", 2000L), current);
+        assertTrue(check(token(current, "ROLE_STAFF", "ROLE_USER")));
+    }
+
+    @Test
+    void issuesTokensWithoutGenerationsWhileRedisIsDown() {
+        when(values.multiGet(anyList())).thenThrow(new RedisConnectionFailureException("down"));
+
+        assertEquals(Map.of(), generations.current("alice", List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void keepsRejectingRevokedTokensWhileRedisIsDown() throws InterruptedException {
+        generations.resyncReplica();
+        blacklist.resyncNearCache();
+        VerifiedToken token = token(Map.of());
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(), any())).thenReturn(1000L);
+        generations.revokeUser("alice");
+        // The short-lived local cache no longer holds the bump
+        Thread.sleep(LOCAL_TTL_MS + 5);
+
+        circuitBreaker.transitionToForcedOpenState();
+
+        assertFalse(check(token));
+        assertTrue(check(token(Map.of(TokenGenerationService.USER_ENTRY, 1000L))));
+    }
+
+    @Test
+    void failsClosedWithoutReplicaWhileRedisIsDown() {
+        blacklist.resyncNearCache();
+        when(values.get(anyString())).thenThrow(new RedisConnectionFailureException("down"));
+        circuitBreaker.transitionToForcedOpenState();
+
+        assertThrows(RedisConnectionFailureException.class, () -> check(token(Map.of())));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void retriesBumpRedisCouldNotTake() throws InterruptedException {
+        generations.resyncReplica();
+        blacklist.resyncNearCache();
+        VerifiedToken token = token(Map.of(TokenGenerationService.USER_ENTRY, 1000L));
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(), any()))
+                .thenThrow(new RedisConnectionFailureException("down"))
+                .thenReturn(System.currentTimeMillis());
+
+        assertThrows(RevocationPendingException.class, () -> generations.revokeUser("alice"));
+        Thread.sleep(LOCAL_TTL_MS + 5);
+        circuitBreaker.transitionToForcedOpenState();
+        // Refused from the replica while the bump is pending
+        assertFalse(check(token));
+
+        circuitBreaker.transitionToClosedState();
+        generations.retryPendingBumps();
+        generations.retryPendingBumps();
+        verify(redisTemplate, times(2)).execute(any(RedisScript.class), anyList(), any(), any());
+    }
+
+    @Test
+    void appliesBumpsFromOtherNodes() throws InterruptedException {
+        generations.resyncReplica();
+        VerifiedToken token = token(Map.of(TokenGenerationService.USER_ENTRY, 1000L));
+        generations.onMessage(message("2000|gen:user:alice"), null);
+        Thread.sleep(LOCAL_TTL_MS + 5);
+        circuitBreaker.transitionToForcedOpenState();
+        blacklist.resyncNearCache();
+
+        assertEquals(List.of("gen:user:alice"), generations.uncachedKeys(token));
+        assertFalse(check(token));
+    }
+
+    /**
+     * Checks a token the way {@code JwtAuthFilter} does.
+     */
+    private boolean check(VerifiedToken token) {
+        List<String> keys = generations.uncachedKeys(token);
+        Map<String, String> fetched = new HashMap<>();
+        boolean blacklisted = blacklist.isTokenBlacklisted(token.tokenId(), keys, fetched);
+        return !blacklisted && generations.isCurrent(token, fetched);
+    }
+
+    /**
+     * Answers generation and blacklist reads from a map standing in for Redis.
+     */
+    private Map<String, String> storeInRedis() {
+        Map<String, String> stored = new HashMap<>();
+        when(values.multiGet(anyList())).thenAnswer(invocation ->
+                invocation.<List<String>>getArgument(0).stream().map(stored::get).toList());
+        when(values.get(anyString())).thenAnswer(invocation -> stored.get(invocation.<String>getArgument(0)));
+        return stored;
+    }
+
+    private static VerifiedToken token(Map<String, Long> carried, String... authorities) {
+        List<GrantedAuthority> granted = Arrays.stream(authorities)
+                .map(authority -> (GrantedAuthority) new SimpleGrantedAuthority(authority))
+                .toList();
+        return new VerifiedToken("token-id", "alice", Instant.now().plusSeconds(60), granted, 1L,
+                Jwts.claims(Map.of("gen", carried)));
+    }
+
+    private static Message message(String body) {
+        return new DefaultMessage(new byte[0], body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,121 @@
+package com.secureauth.cache;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * A counting Bloom filter over 64-bit hashes with saturating 8-bit counters.
+ *
+ * <p>Unlike a plain Bloom filter, entries can be removed again, which lets the
+ * revocation near-cache drop tokens once their blacklist entry has expired.
+ * Writers must be externally synchronized; {@link #mightContain(long)} is safe
+ * to call concurrently with writers.</p>
+ */
+public class CountingBloomFilter {
+
+    private static final VarHandle COUNTERS = MethodHandles.arrayElementVarHandle(byte[].class);
+    private static final int MAX_COUNT = 0xFF;
+
+    private final byte[] counters;
+    private final int hashFunctions;
+
+    /**
+     * Creates a filter sized for the given number of insertions and false positive rate.
+     *
+     * @param expectedInsertions   the number of entries the filter should hold
+     * @param falsePositiveRate    the desired false positive probability, between 0 and 1
+     */
+    public CountingBloomFilter(int expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("expectedInsertions must be positive");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("falsePositiveRate must be between 0 and 1");
+        }
+        long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.counters = new byte[(int) Math.min(Integer.MAX_VALUE - 8, Math.max(64, bits))];
+        this.hashFunctions = Math.max(1, (int) Math.round((double) counters.length / expectedInsertions * Math.log(2)));
+    }
+
+    /**
+     * Adds a hash to the filter.
+     *
+     * @param hash the 64-bit hash of the entry
+     */
+    public void add(long hash) {
+        for (int i = 0; i < hashFunctions; i++) {
+            int index = index(hash, i);
+            int count = Byte.toUnsignedInt((byte) COUNTERS.getAcquire(counters, index));
+            if (count < MAX_COUNT) {
+                COUNTERS.setRelease(counters, index, (byte) (count + 1));
+            }
+        }
+    }
+
+    /**
+     * Removes a hash previously passed to {@link #add(long)}.
+     * Saturated counters are left untouched, since their true count is unknown.
+     *
+     * @param hash the 64-bit hash of the entry
+     */
+    public void remove(long hash) {
+        for (int i = 0; i < hashFunctions; i++) {
+            int index = index(hash, i);
+            int count = Byte.toUnsignedInt((byte) COUNTERS.getAcquire(counters, index));
+            if (count > 0 && count < MAX_COUNT) {
+                COUNTERS.setRelease(counters, index, (byte) (count - 1));
+            }
+        }
+    }
+
+    /**
+     * Checks whether a hash may have been added.
+     *
+     * @param hash the 64-bit hash of the entry
+     * @return false if the entry was definitely never added, true otherwise
+     */
+    public boolean mightContain(long hash) {
+        for (int i = 0; i < hashFunctions; i++) {
+            if ((byte) COUNTERS.getAcquire(counters, index(hash, i)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of counters backing this filter (one byte each).
+     *
+     * @return the counter count
+     */
+    public int size() {
+        return counters.length;
+    }
+
+    private int index(long hash, int i) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        int combined = h1 + i * h2;
+        return Math.floorMod(combined, counters.length);
+    }
+
+    /**
+     * Computes a well-mixed 64-bit hash (FNV-1a followed by a MurmurHash3 finalizer).
+     *
+     * @param value the value to hash
+     * @return the 64-bit hash
+     */
+    public static long hash64(CharSequence value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
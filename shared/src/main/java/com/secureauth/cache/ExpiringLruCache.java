@@ -0,0 +1,164 @@
+package com.secureauth.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded LRU cache whose entries carry their own expiry time.
+ *
+ * <p>The cache is split into independently locked segments so that concurrent
+ * request threads rarely contend. Each segment evicts its least recently used
+ * entry once it is full; expired entries are dropped when they are read.</p>
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class ExpiringLruCache<K, V> {
+
+    private static final int SEGMENTS = 16;
+
+    private final Segment<K, V>[] segments;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Creates a cache holding at most roughly {@code maximumSize} entries.
+     *
+     * @param maximumSize the maximum number of entries
+     */
+    @SuppressWarnings("unchecked")
+    public ExpiringLruCache(int maximumSize) {
+        int perSegment = Math.max(1, maximumSize / SEGMENTS);
+        this.segments = new Segment[SEGMENTS];
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment<>(perSegment);
+        }
+    }
+
+    /**
+     * Returns the value for a key if it is present and not expired.
+     *
+     * @param key the key
+     * @param now the current epoch millis
+     * @return the cached value, or null
+     */
+    public V get(K key, long now) {
+        V value = segmentFor(key).get(key, now);
+        if (value != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return value;
+    }
+
+    /**
+     * Stores a value until the given expiry time.
+     *
+     * @param key       the key
+     * @param value     the value
+     * @param expiresAt the epoch millis after which the entry is no longer returned
+     */
+    public void put(K key, V value, long expiresAt) {
+        segmentFor(key).put(key, value, expiresAt);
+    }
+
+    /**
+     * Removes the entry for a key, if any.
+     *
+     * @param key the key
+     */
+    public void remove(K key) {
+        segmentFor(key).remove(key);
+    }
+
+    /**
+     * Removes every entry.
+     */
+    public void clear() {
+        for (Segment<K, V> segment : segments) {
+            segment.clear();
+        }
+    }
+
+    /**
+     * Returns the number of entries, including expired ones not yet evicted.
+     *
+     * @return the entry count
+     */
+    public int size() {
+        int size = 0;
+        for (Segment<K, V> segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    /**
+     * Returns the number of lookups that found a live entry.
+     *
+     * @return the hit count
+     */
+    public long hits() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of lookups that found no live entry.
+     *
+     * @return the miss count
+     */
+    public long misses() {
+        return misses.sum();
+    }
+
+    private Segment<K, V> segmentFor(K key) {
+        int h = key.hashCode();
+        return segments[(h ^ (h >>> 16)) & (SEGMENTS - 1)];
+    }
+
+    private static final class Segment<K, V> {
+        private final Map<K, Entry<V>> entries;
+
+        private Segment(int capacity) {
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                    return size() > capacity;
+                }
+            };
+        }
+
+        private synchronized V get(K key, long now) {
+            Entry<V> entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expiresAt <= now) {
+                entries.remove(key);
+                return null;
+            }
+            return entry.value;
+        }
+
+        private synchronized void put(K key, V value, long expiresAt) {
+            entries.put(key, new Entry<>(value, expiresAt));
+        }
+
+        private synchronized void remove(K key) {
+            entries.remove(key);
+        }
+
+        private synchronized void clear() {
+            entries.clear();
+        }
+
+        private synchronized int size() {
+            return entries.size();
+        }
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+}
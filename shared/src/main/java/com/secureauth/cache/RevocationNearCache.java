@@ -0,0 +1,238 @@
+package com.secureauth.cache;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-node replica of the token blacklist with bounded memory.
+ *
+ * <p>Every revoked key goes into a {@link CountingBloomFilter}; the most recent
+ * ones are also kept in a small exact set. A lookup that misses the filter is a
+ * definite "not revoked" and needs no Redis call. A hit in the exact set is a
+ * definite "revoked". Anything else is only a candidate and must be confirmed
+ * against Redis by the caller.</p>
+ *
+ * <p>The cache only answers once {@link #completeRebuild()} has run at least
+ * once; until then every lookup returns {@link Verdict#UNKNOWN}.</p>
+ */
+public class RevocationNearCache {
+
+    /**
+     * Result of a near-cache lookup.
+     */
+    public enum Verdict {
+        /** The key is known to be revoked. */
+        REVOKED,
+        /** The key is known not to be revoked. */
+        NOT_REVOKED,
+        /** The cache cannot tell; the caller has to ask Redis. */
+        UNKNOWN
+    }
+
+    private final int expectedInsertions;
+    private final double falsePositiveRate;
+    private final int exactCapacity;
+    private final int trackedCapacity;
+
+    private volatile State current;
+    private State rebuilding;
+    private volatile boolean ready;
+    private volatile boolean built;
+
+    /**
+     * Creates an empty near-cache.
+     *
+     * @param expectedInsertions the number of live revocations the Bloom filter is sized for
+     * @param falsePositiveRate  the Bloom filter false positive rate
+     * @param exactCapacity      the number of recent revocations kept in the exact set
+     * @param trackedCapacity    the number of revocations whose expiry is tracked for removal
+     */
+    public RevocationNearCache(int expectedInsertions, double falsePositiveRate,
+                               int exactCapacity, int trackedCapacity) {
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.exactCapacity = exactCapacity;
+        this.trackedCapacity = trackedCapacity;
+        this.current = newState();
+    }
+
+    /**
+     * Looks up a blacklist key.
+     *
+     * @param key the blacklist key
+     * @return the verdict for the key
+     */
+    public Verdict lookup(String key) {
+        if (!ready) {
+            return Verdict.UNKNOWN;
+        }
+        State state = current;
+        Long expiresAt = state.exact.get(key);
+        if (expiresAt != null && expiresAt > System.currentTimeMillis()) {
+            return Verdict.REVOKED;
+        }
+        return state.filter.mightContain(CountingBloomFilter.hash64(key)) ? Verdict.UNKNOWN : Verdict.NOT_REVOKED;
+    }
+
+    /**
+     * Looks up a blacklist key while Redis cannot be asked, from whatever state was last
+     * replicated, even if the cache has since gone out of sync. Filter candidates not in the
+     * exact set count as revoked, so the few live tokens they cover are refused rather than
+     * revoked tokens accepted.
+     *
+     * @param key the blacklist key
+     * @return the verdict, or {@link Verdict#UNKNOWN} if no rebuild has ever completed
+     */
+    public Verdict lookupDegraded(String key) {
+        if (!built) {
+            return Verdict.UNKNOWN;
+        }
+        State state = current;
+        Long expiresAt = state.exact.get(key);
+        if (expiresAt != null && expiresAt > System.currentTimeMillis()) {
+            return Verdict.REVOKED;
+        }
+        return state.filter.mightContain(CountingBloomFilter.hash64(key)) ? Verdict.REVOKED : Verdict.NOT_REVOKED;
+    }
+
+    /**
+     * Records a revocation, either made locally or received from another node.
+     *
+     * @param key       the blacklist key
+     * @param expiresAt the epoch millis at which the blacklist entry expires
+     */
+    public synchronized void revoked(String key, long expiresAt) {
+        current.add(key, expiresAt);
+        if (rebuilding != null) {
+            rebuilding.add(key, expiresAt);
+        }
+    }
+
+    /**
+     * Starts a rebuild. Revocations seen until {@link #completeRebuild()} go to both
+     * the live and the new state, so nothing published during the rebuild is lost.
+     */
+    public synchronized void beginRebuild() {
+        rebuilding = newState();
+    }
+
+    /**
+     * Adds an existing revocation to the state being rebuilt.
+     *
+     * @param key       the blacklist key
+     * @param expiresAt the epoch millis at which the blacklist entry expires
+     */
+    public synchronized void addToRebuild(String key, long expiresAt) {
+        if (rebuilding != null) {
+            rebuilding.add(key, expiresAt);
+        }
+    }
+
+    /**
+     * Swaps in the rebuilt state and starts answering lookups.
+     */
+    public synchronized void completeRebuild() {
+        if (rebuilding != null) {
+            current = rebuilding;
+            rebuilding = null;
+            ready = true;
+            built = true;
+        }
+    }
+
+    /**
+     * Abandons a rebuild, keeping the live state.
+     */
+    public synchronized void abortRebuild() {
+        rebuilding = null;
+    }
+
+    /**
+     * Stops answering lookups until the next completed rebuild.
+     */
+    public void invalidate() {
+        ready = false;
+    }
+
+    /**
+     * Removes expired revocations from the exact set and the Bloom filter.
+     */
+    public synchronized void purgeExpired() {
+        long now = System.currentTimeMillis();
+        current.purge(now);
+        if (rebuilding != null) {
+            rebuilding.purge(now);
+        }
+    }
+
+    /**
+     * Returns whether the cache is answering lookups.
+     *
+     * @return true once a rebuild has completed
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Returns the number of revocations currently held in the exact set.
+     *
+     * @return the exact set size
+     */
+    public int exactSize() {
+        return current.exact.size();
+    }
+
+    private State newState() {
+        return new State(new CountingBloomFilter(expectedInsertions, falsePositiveRate));
+    }
+
+    private final class State {
+        private final CountingBloomFilter filter;
+        private final Map<String, Long> exact = new ConcurrentHashMap<>();
+        private final ArrayDeque<String> exactOrder = new ArrayDeque<>();
+        private final PriorityQueue<Tracked> expiries = new PriorityQueue<>();
+
+        private State(CountingBloomFilter filter) {
+            this.filter = filter;
+        }
+
+        private void add(String key, long expiresAt) {
+            if (exact.put(key, expiresAt) != null) {
+                return;
+            }
+            exactOrder.addLast(key);
+            if (exactOrder.size() > exactCapacity) {
+                exact.remove(exactOrder.removeFirst());
+            }
+            long hash = CountingBloomFilter.hash64(key);
+            filter.add(hash);
+            // Untracked entries stay in the filter until the next rebuild.
+            if (expiries.size() < trackedCapacity) {
+                expiries.add(new Tracked(hash, expiresAt));
+            }
+        }
+
+        private void purge(long now) {
+            while (!expiries.isEmpty() && expiries.peek().expiresAt <= now) {
+                filter.remove(expiries.poll().hash);
+            }
+            while (!exactOrder.isEmpty()) {
+                Long expiresAt = exact.get(exactOrder.peekFirst());
+                if (expiresAt != null && expiresAt > now) {
+                    break;
+                }
+                exact.remove(exactOrder.removeFirst());
+            }
+        }
+    }
+
+    private record Tracked(long hash, long expiresAt) implements Comparable<Tracked> {
+        @Override
+        public int compareTo(Tracked other) {
+            return Long.compare(expiresAt, other.expiresAt);
+        }
+    }
+}
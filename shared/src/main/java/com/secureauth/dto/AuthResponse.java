@@ -0,0 +1,27 @@
+package com.secureauth.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Represents the response containing a JWT token and, where issued, a refresh token.
+ */
+@Getter
+@Setter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AuthResponse {
+
+    private String token;
+
+    private String refreshToken;
+
+    public AuthResponse(String token) {
+        this.token = token;
+    }
+
+    public AuthResponse(String token, String refreshToken) {
+        this.token = token;
+        this.refreshToken = refreshToken;
+    }
+}
\ No newline at end of file
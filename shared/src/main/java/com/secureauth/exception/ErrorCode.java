@@ -87,6 +87,7 @@ public enum ErrorCode {
     USER_DELETED(74),
     USER_NOT_APPROVED(75),
     INVALID_USER_ROLE(76),
+    REVOCATION_PENDING(77),
 
     // 5xx: Server Errors
     INTERNAL_SERVER_ERROR(500),
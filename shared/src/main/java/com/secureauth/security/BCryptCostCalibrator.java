@@ -0,0 +1,81 @@
+package com.secureauth.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+import org.springframework.stereotype.Component;
+
+/**
+ * Determines the BCrypt cost factor. A configured strength is used as is; otherwise
+ * the highest cost whose hash time stays within the target latency is measured at
+ * startup, never going below the configured minimum.
+ */
+@Component
+public class BCryptCostCalibrator {
+
+    private static final Logger log = LoggerFactory.getLogger(BCryptCostCalibrator.class);
+    private static final int PROBE_COST = 8;
+    private static final int PROBE_ROUNDS = 5;
+    private static final int MAX_COST = 16;
+
+    private final int strength;
+
+    public BCryptCostCalibrator(@Value("${security.password.bcrypt.strength:0}") int configuredStrength,
+                                @Value("${security.password.bcrypt.target-millis:100}") long targetMillis,
+                                @Value("${security.password.bcrypt.min-strength:10}") int minStrength) {
+        if (configuredStrength > 0) {
+            this.strength = configuredStrength;
+        } else {
+            this.strength = calibrate(targetMillis, minStrength);
+        }
+    }
+
+    /**
+     * Returns the BCrypt cost factor new hashes are created with.
+     *
+     * @return the cost factor
+     */
+    public int getStrength() {
+        return strength;
+    }
+
+    /**
+     * Reads the cost factor from a BCrypt hash.
+     *
+     * @param encoded the encoded hash, e.g. {@code $2a$10$...}
+     * @return the cost factor, or -1 if the value is not a BCrypt hash
+     */
+    public static int costOf(String encoded) {
+        if (encoded == null || encoded.length() < 7 || encoded.charAt(0) != '$' || encoded.charAt(3) != '$') {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(encoded.substring(4, 6));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static int calibrate(long targetMillis, int minStrength) {
+        String salt = BCrypt.gensalt(PROBE_COST);
+        BCrypt.hashpw("calibration", salt);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < PROBE_ROUNDS; i++) {
+            long start = System.nanoTime();
+            BCrypt.hashpw("calibration", salt);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        // Every cost increment doubles the work.
+        int cost = PROBE_COST;
+        double millis = best / 1_000_000.0;
+        while (cost < MAX_COST && millis * 2 <= targetMillis) {
+            millis *= 2;
+            cost++;
+        }
+        int strength = Math.max(minStrength, cost);
+        log.info("Calibrated BCrypt strength {} (~{} ms per hash, target {} ms)", strength,
+                Math.round(millis * (1L << (strength - cost))), targetMillis);
+        return strength;
+    }
+}
@@ -0,0 +1,170 @@
+package com.secureauth.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Provides utility methods for generating and validating JWT tokens.
+ */
+@Component
+public class JwtTokenProvider {
+
+    /**
+     * The claim carrying the refresh token family, i.e. the session, an access token was issued for.
+     */
+    public static final String SESSION_ID_CLAIM = "sid";
+
+    /**
+     * The claim carrying the user and role generations an access token was issued under.
+     */
+    public static final String GENERATIONS_CLAIM = "gen";
+
+    private static final String ROLES_CLAIM = "roles";
+    private static final String SECURITY_VERSION_CLAIM = "sv";
+
+    private final long expirationMs;
+    private final SigningKeyRegistry signingKeyRegistry;
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    public JwtTokenProvider(@Value("${jwt.expiration}") long expirationMs,
+                            SigningKeyRegistry signingKeyRegistry,
+                            VerifiedTokenCache verifiedTokenCache) {
+        this.expirationMs = expirationMs;
+        this.signingKeyRegistry = signingKeyRegistry;
+        this.verifiedTokenCache = verifiedTokenCache;
+    }
+
+    /**
+     * Generates a JWT token for the given user.
+     *
+     * @param username        the username to include in the token
+     * @param authorities     the user's authorities, embedded for stateless principal mode
+     * @param securityVersion the user's current security version
+     * @return the generated JWT token
+     */
+    public String generateToken(String username,
+                                Collection<? extends GrantedAuthority> authorities,
+                                long securityVersion) {
+        return generateToken(username, authorities, securityVersion, null, Map.of());
+    }
+
+    /**
+     * Generates a JWT token for the given user, bound to a refresh token session.
+     *
+     * @param username        the username to include in the token
+     * @param authorities     the user's authorities, embedded for stateless principal mode
+     * @param securityVersion the user's current security version
+     * @param sessionId       the refresh token family ID, or null for a token without a session
+     * @param generations     the current non-zero user and role generations, see
+     *                        {@link com.secureauth.service.TokenGenerationService}
+     * @return the generated JWT token
+     */
+    public String generateToken(String username,
+                                Collection<? extends GrantedAuthority> authorities,
+                                long securityVersion,
+                                String sessionId,
+                                Map<String, Long> generations) {
+        SigningKey key = signingKeyRegistry.activeKey();
+        return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, key.kid())
+                .setId(UUID.randomUUID().toString())
+                .setSubject(username)
+                .claim(ROLES_CLAIM, authorities.stream().map(GrantedAuthority::getAuthority).toList())
+                .claim(SECURITY_VERSION_CLAIM, securityVersion)
+                .claim(SESSION_ID_CLAIM, sessionId)
+                .claim(GENERATIONS_CLAIM, generations.isEmpty() ? null : generations)
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + expirationMs))
+                .signWith(key.signingKey(), key.algorithm())
+                .compact();
+    }
+
+    /**
+     * Parses and verifies a JWT token, reusing an earlier verification of the same token when cached.
+     *
+     * @param token the JWT token
+     * @return the verified token
+     * @throws JwtException if the token is invalid or expired
+     */
+    public VerifiedToken verify(String token) {
+        return verifiedTokenCache.get(token, this::parse);
+    }
+
+    /**
+     * Extracts the username from a JWT token.
+     *
+     * @param token the JWT token
+     * @return the username
+     * @throws JwtException if the token is invalid
+     */
+    public String extractUsername(String token) {
+        return verify(token).username();
+    }
+
+    /**
+     * Validates a verified token against user details
+     *
+     * @param token       the verified token
+     * @param userDetails the user details to validate against
+     * @return true if the token belongs to the user, false otherwise
+     */
+    public boolean isValid(VerifiedToken token, UserDetails userDetails) {
+        return token.username() != null && token.username().equals(userDetails.getUsername());
+    }
+
+    private VerifiedToken parse(String token) {
+        Claims claims = signingKeyRegistry.parser().parseClaimsJws(token).getBody();
+        if (claims.getExpiration() == null) {
+            throw new MalformedJwtException("Token has no expiration");
+        }
+        List<?> roles = claims.get(ROLES_CLAIM, List.class);
+        List<GrantedAuthority> authorities = roles == null ? null : roles.stream()
+                .map(role -> (GrantedAuthority) new SimpleGrantedAuthority(role.toString()))
+                .toList();
+        return new VerifiedToken(tokenId(claims, token), claims.getSubject(), claims.getExpiration().toInstant(),
+                authorities, claims.get(SECURITY_VERSION_CLAIM, Long.class), claims);
+    }
+
+    /**
+     * Returns the fixed-size identifier under which a token is blacklisted.
+     * This is the {@code jti} claim; tokens issued before it existed fall back
+     * to {@link #legacyTokenId(String)}.
+     */
+    private static String tokenId(Claims claims, String token) {
+        return claims.getId() != null ? claims.getId() : legacyTokenId(token);
+    }
+
+    /**
+     * Returns the identifier of a token issued without a {@code jti}: a 128-bit hash of the compact token.
+     *
+     * @param token the compact token
+     * @return the token ID
+     */
+    public static String legacyTokenId(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 16));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.secureauth.security;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+
+import java.security.Key;
+import java.time.Instant;
+
+/**
+ * A pre-built key used to sign or verify tokens, identified by the {@code kid} header.
+ *
+ * @param kid             the key ID
+ * @param algorithm       the signature algorithm
+ * @param signingKey      the secret or private key, or null if this key only verifies
+ * @param verificationKey the secret or public key
+ * @param expiresAt       the time after which tokens signed with this key are rejected, or null
+ */
+public record SigningKey(String kid, SignatureAlgorithm algorithm, Key signingKey, Key verificationKey,
+                         Instant expiresAt) {
+
+    /**
+     * Returns whether the verification key can be published to other services.
+     *
+     * @return true for RSA and EC keys
+     */
+    public boolean isPublishable() {
+        return !algorithm.isHmac();
+    }
+}
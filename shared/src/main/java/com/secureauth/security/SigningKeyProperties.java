@@ -0,0 +1,60 @@
+package com.secureauth.security;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Signing keys configured under {@code jwt.signing}.
+ *
+ * <p>The key named by {@code active-kid} signs new tokens; every listed key that has
+ * not expired verifies them. To rotate, add the new key, roll it out to all nodes,
+ * switch {@code active-kid}, and remove the old key once its tokens have expired.</p>
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "jwt.signing")
+public class SigningKeyProperties {
+
+    /**
+     * The key ID used to sign new tokens. Defaults to the legacy {@code jwt.secret} key.
+     */
+    private String activeKid = SigningKeyRegistry.LEGACY_KID;
+
+    private List<KeyProperties> keys = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class KeyProperties {
+
+        private String kid;
+
+        /**
+         * The JWS algorithm, e.g. HS256, RS256 or ES256.
+         */
+        private String algorithm;
+
+        /**
+         * The Base64-encoded secret for HMAC algorithms.
+         */
+        private String secret;
+
+        /**
+         * The PEM-encoded PKCS#8 private key for RSA and EC algorithms. Omit for verify-only keys.
+         */
+        private String privateKey;
+
+        /**
+         * The PEM-encoded X.509 public key for RSA and EC algorithms.
+         */
+        private String publicKey;
+
+        private Instant expiresAt;
+    }
+}
@@ -0,0 +1,152 @@
+package com.secureauth.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.SignatureException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Holds every signing key, built once at startup, and a single parser that picks
+ * the verification key from the token's {@code kid} header.
+ */
+@Component
+public class SigningKeyRegistry {
+
+    /**
+     * The key ID of the key derived from {@code jwt.secret}; tokens without a kid header use it.
+     */
+    public static final String LEGACY_KID = "default";
+
+    private static final Logger log = LoggerFactory.getLogger(SigningKeyRegistry.class);
+
+    private final Map<String, SigningKey> keys = new LinkedHashMap<>();
+    private final SigningKey activeKey;
+    private final JwtParser parser;
+
+    public SigningKeyRegistry(@Value("${jwt.secret:}") String legacySecret,
+                              SigningKeyProperties properties) {
+        if (!legacySecret.isBlank()) {
+            // The secret has always been interpreted as Base64, keep it that way so issued tokens stay valid.
+            Key key = new SecretKeySpec(Decoders.BASE64.decode(legacySecret), SignatureAlgorithm.HS256.getJcaName());
+            keys.put(LEGACY_KID, new SigningKey(LEGACY_KID, SignatureAlgorithm.HS256, key, key, null));
+        }
+        for (SigningKeyProperties.KeyProperties keyProperties : properties.getKeys()) {
+            SigningKey key = build(keyProperties);
+            if (keys.putIfAbsent(key.kid(), key) != null) {
+                throw new IllegalStateException("Duplicate signing key ID: " + key.kid());
+            }
+        }
+        this.activeKey = keys.get(properties.getActiveKid());
+        if (activeKey == null || activeKey.signingKey() == null) {
+            throw new IllegalStateException("Active signing key " + properties.getActiveKid() + " is missing or verify-only");
+        }
+        this.parser = Jwts.parserBuilder().setSigningKeyResolver(new KidResolver()).build();
+        log.info("Signing tokens with key {} ({}), {} key(s) accepted for verification",
+                activeKey.kid(), activeKey.algorithm(), keys.size());
+    }
+
+    /**
+     * Returns the key used to sign new tokens.
+     *
+     * @return the active signing key
+     */
+    public SigningKey activeKey() {
+        return activeKey;
+    }
+
+    /**
+     * Returns the shared parser, which verifies tokens signed with any registered key.
+     *
+     * @return the parser
+     */
+    public JwtParser parser() {
+        return parser;
+    }
+
+    /**
+     * Returns the keys whose verification keys may be published to other services.
+     *
+     * @return the asymmetric, unexpired keys
+     */
+    public List<SigningKey> publishableKeys() {
+        Instant now = Instant.now();
+        return keys.values().stream()
+                .filter(SigningKey::isPublishable)
+                .filter(key -> key.expiresAt() == null || key.expiresAt().isAfter(now))
+                .toList();
+    }
+
+    private static SigningKey build(SigningKeyProperties.KeyProperties properties) {
+        if (properties.getKid() == null || properties.getKid().isBlank()) {
+            throw new IllegalStateException("Signing key without kid");
+        }
+        SignatureAlgorithm algorithm = SignatureAlgorithm.forName(properties.getAlgorithm());
+        try {
+            Key signingKey;
+            Key verificationKey;
+            if (algorithm.isHmac()) {
+                signingKey = new SecretKeySpec(Decoders.BASE64.decode(properties.getSecret()), algorithm.getJcaName());
+                verificationKey = signingKey;
+            } else {
+                KeyFactory keyFactory = KeyFactory.getInstance(algorithm.isRsa() ? "RSA" : "EC");
+                signingKey = properties.getPrivateKey() == null ? null
+                        : keyFactory.generatePrivate(new PKCS8EncodedKeySpec(pem(properties.getPrivateKey())));
+                verificationKey = keyFactory.generatePublic(new X509EncodedKeySpec(pem(properties.getPublicKey())));
+            }
+            if (signingKey != null) {
+                algorithm.assertValidSigningKey(signingKey);
+            }
+            algorithm.assertValidVerificationKey(verificationKey);
+            return new SigningKey(properties.getKid(), algorithm, signingKey, verificationKey, properties.getExpiresAt());
+        } catch (GeneralSecurityException | RuntimeException e) {
+            throw new IllegalStateException("Invalid signing key " + properties.getKid() + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static byte[] pem(String pem) {
+        if (pem == null) {
+            throw new IllegalArgumentException("PEM key is required");
+        }
+        String body = pem.replaceAll("-----(BEGIN|END) [A-Z ]+-----", "").replaceAll("\\s", "");
+        return Base64.getDecoder().decode(body);
+    }
+
+    private final class KidResolver extends SigningKeyResolverAdapter {
+        @Override
+        public Key resolveSigningKey(JwsHeader header, Claims claims) {
+            String kid = header.getKeyId() != null ? header.getKeyId() : LEGACY_KID;
+            SigningKey key = keys.get(kid);
+            if (key == null) {
+                throw new SignatureException("Unknown signing key: " + kid);
+            }
+            // Never let the token header choose a different algorithm than the key was issued for.
+            if (!key.algorithm().getValue().equals(header.getAlgorithm())) {
+                throw new SignatureException("Algorithm mismatch for signing key: " + kid);
+            }
+            if (key.expiresAt() != null && key.expiresAt().isBefore(Instant.now())) {
+                throw new SignatureException("Signing key expired: " + kid);
+            }
+            return key.verificationKey();
+        }
+    }
+}
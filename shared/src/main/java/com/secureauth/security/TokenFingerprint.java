@@ -0,0 +1,40 @@
+package com.secureauth.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Short, non-reversible stand-ins for tokens and token IDs in logs.
+ *
+ * <p>A fingerprint is the first 40 bits of the SHA-256 of the value, hex encoded. That is
+ * enough to correlate the log lines of one token, but a token ID cannot be recovered from
+ * it and looked up or blacklisted. Computing one costs a hash, so callers logging below
+ * {@code INFO} check the level first.</p>
+ */
+public final class TokenFingerprint {
+
+    private static final int LENGTH_BYTES = 5;
+
+    private TokenFingerprint() {
+    }
+
+    /**
+     * Returns the fingerprint of a token or token ID.
+     *
+     * @param value the token or token ID, may be null
+     * @return ten hex characters, or {@code -} for null
+     */
+    public static String of(String value) {
+        if (value == null) {
+            return "-";
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.US_ASCII));
+            return HexFormat.of().formatHex(digest, 0, LENGTH_BYTES);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.secureauth.security;
+
+import io.jsonwebtoken.Claims;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The result of parsing and verifying a JWT token once.
+ *
+ * @param tokenId         the fixed-size token ID used for blacklisting
+ * @param username        the token subject
+ * @param expiresAt       the token expiry
+ * @param authorities     the authorities embedded in the token, or null for tokens issued without them
+ * @param securityVersion the user's security version at issue time, or null for tokens issued without it
+ * @param claims          the full set of verified claims
+ */
+public record VerifiedToken(String tokenId, String username, Instant expiresAt,
+                            List<GrantedAuthority> authorities, Long securityVersion, Claims claims) {
+
+    /**
+     * Returns whether the token carries enough to build the principal without loading the user.
+     *
+     * @return true if both authorities and security version are present
+     */
+    public boolean isSelfContained() {
+        return authorities != null && securityVersion != null;
+    }
+
+    /**
+     * Returns the refresh token session the token was issued for.
+     *
+     * @return the {@code sid} claim, or null for tokens issued without a session
+     */
+    public String sessionId() {
+        return claims == null ? null : claims.get(JwtTokenProvider.SESSION_ID_CLAIM, String.class);
+    }
+
+    /**
+     * Returns the user and role generations the token was issued under.
+     *
+     * @return the {@code gen} claim, empty for tokens issued without one
+     */
+    public Map<String, Long> generations() {
+        Map<?, ?> claim = claims == null ? null : claims.get(JwtTokenProvider.GENERATIONS_CLAIM, Map.class);
+        if (claim == null) {
+            return Map.of();
+        }
+        Map<String, Long> generations = new HashMap<>();
+        claim.forEach((entry, generation) -> {
+            if (generation instanceof Number number) {
+                generations.put(entry.toString(), number.longValue());
+            }
+        });
+        return generations;
+    }
+}
@@ -0,0 +1,86 @@
+package com.secureauth.security;
+
+import com.secureauth.cache.ExpiringLruCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.function.Function;
+
+/**
+ * Caches verified tokens by a 128-bit digest of the compact token, so a token reused
+ * across requests is decoded and signature-checked only once until it expires.
+ */
+@Component
+@ManagedResource(objectName = "com.secureauth:type=Cache,name=verifiedTokens")
+public class VerifiedTokenCache {
+
+    private final ExpiringLruCache<Digest, VerifiedToken> cache;
+
+    public VerifiedTokenCache(@Value("${jwt.verified-cache.enabled:true}") boolean enabled,
+                              @Value("${jwt.verified-cache.maximum-size:10000}") int maximumSize) {
+        this.cache = enabled ? new ExpiringLruCache<>(maximumSize) : null;
+    }
+
+    /**
+     * Returns the cached verification result for a token, verifying and caching it on a miss.
+     *
+     * @param token    the compact JWT token
+     * @param verifier parses and verifies the token, throwing if it is invalid
+     * @return the verified token
+     */
+    public VerifiedToken get(String token, Function<String, VerifiedToken> verifier) {
+        if (cache == null) {
+            return verifier.apply(token);
+        }
+        long now = System.currentTimeMillis();
+        Digest digest = Digest.of(token);
+        VerifiedToken verified = cache.get(digest, now);
+        if (verified == null) {
+            verified = verifier.apply(token);
+            if (verified.expiresAt().toEpochMilli() > now) {
+                cache.put(digest, verified, verified.expiresAt().toEpochMilli());
+            }
+        }
+        return verified;
+    }
+
+    @ManagedAttribute(description = "Lookups served from the cache")
+    public long getHits() {
+        return cache == null ? 0 : cache.hits();
+    }
+
+    @ManagedAttribute(description = "Lookups that required full verification")
+    public long getMisses() {
+        return cache == null ? 0 : cache.misses();
+    }
+
+    @ManagedAttribute(description = "Fraction of lookups served from the cache")
+    public double getHitRate() {
+        long hits = getHits();
+        long total = hits + getMisses();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    @ManagedAttribute(description = "Number of cached tokens")
+    public int getSize() {
+        return cache == null ? 0 : cache.size();
+    }
+
+    private record Digest(long high, long low) {
+        private static Digest of(String token) {
+            try {
+                byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+                ByteBuffer buffer = ByteBuffer.wrap(hash);
+                return new Digest(buffer.getLong(), buffer.getLong());
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 not available", e);
+            }
+        }
+    }
+}
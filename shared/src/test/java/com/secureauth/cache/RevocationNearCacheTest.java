@@ -0,0 +1,75 @@
+package com.secureauth.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RevocationNearCacheTest {
+
+    @Test
+    void answersUnknownUntilFirstRebuild() {
+        RevocationNearCache cache = new RevocationNearCache(1000, 0.01, 10, 1000);
+        cache.revoked("blacklisted:a", System.currentTimeMillis() + 60000);
+
+        assertEquals(RevocationNearCache.Verdict.UNKNOWN, cache.lookup("blacklisted:a"));
+    }
+
+    @Test
+    void answersMissesLocallyAndHitsFromExactSet() {
+        RevocationNearCache cache = new RevocationNearCache(1000, 0.01, 10, 1000);
+        cache.beginRebuild();
+        cache.addToRebuild("blacklisted:a", System.currentTimeMillis() + 60000);
+        cache.completeRebuild();
+
+        assertEquals(RevocationNearCache.Verdict.REVOKED, cache.lookup("blacklisted:a"));
+        assertEquals(RevocationNearCache.Verdict.NOT_REVOKED, cache.lookup("blacklisted:b"));
+    }
+
+    @Test
+    void keepsRevocationsPublishedDuringRebuild() {
+        RevocationNearCache cache = new RevocationNearCache(1000, 0.01, 10, 1000);
+        cache.beginRebuild();
+        cache.revoked("blacklisted:a", System.currentTimeMillis() + 60000);
+        cache.completeRebuild();
+
+        assertEquals(RevocationNearCache.Verdict.REVOKED, cache.lookup("blacklisted:a"));
+    }
+
+    @Test
+    void fallsBackToRedisForEntriesEvictedFromExactSet() {
+        RevocationNearCache cache = new RevocationNearCache(1000, 0.01, 1, 1000);
+        cache.beginRebuild();
+        cache.completeRebuild();
+        cache.revoked("blacklisted:a", System.currentTimeMillis() + 60000);
+        cache.revoked("blacklisted:b", System.currentTimeMillis() + 60000);
+
+        assertEquals(RevocationNearCache.Verdict.UNKNOWN, cache.lookup("blacklisted:a"));
+        assertEquals(RevocationNearCache.Verdict.REVOKED, cache.lookup("blacklisted:b"));
+    }
+
+    @Test
+    void forgetsExpiredRevocations() {
+        RevocationNearCache cache = new RevocationNearCache(1000, 0.01, 10, 1000);
+        cache.beginRebuild();
+        cache.completeRebuild();
+        cache.revoked("blacklisted:a", System.currentTimeMillis() - 1);
+        cache.purgeExpired();
+
+        assertEquals(RevocationNearCache.Verdict.NOT_REVOKED, cache.lookup("blacklisted:a"));
+    }
+
+    @Test
+    void treatsFilterCandidatesAsRevokedWhenDegraded() {
+        RevocationNearCache cache = new RevocationNearCache(1000, 0.01, 1, 1000);
+        assertEquals(RevocationNearCache.Verdict.UNKNOWN, cache.lookupDegraded("blacklisted:a"));
+
+        cache.beginRebuild();
+        cache.completeRebuild();
+        cache.revoked("blacklisted:a", System.currentTimeMillis() + 60000);
+        cache.revoked("blacklisted:b", System.currentTimeMillis() + 60000);
+
+        assertEquals(RevocationNearCache.Verdict.REVOKED, cache.lookupDegraded("blacklisted:a"));
+        assertEquals(RevocationNearCache.Verdict.REVOKED, cache.lookupDegraded("blacklisted:b"));
+        assertEquals(RevocationNearCache.Verdict.NOT_REVOKED, cache.lookupDegraded("blacklisted:c"));
+    }
+}
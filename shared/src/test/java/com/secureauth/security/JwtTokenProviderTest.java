@@ -0,0 +1,105 @@
+package com.secureauth.security;
+
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JwtTokenProviderTest {
+
+    private static final String SECRET = "mySecretKeyWhichShouldBeAtLeast32CharactersLong!";
+
+    @Test
+    void verifiesTokensSignedWithTheActiveKey() {
+        JwtTokenProvider provider = provider(new SigningKeyProperties());
+
+        String token = provider.generateToken("alice", List.of(new SimpleGrantedAuthority("ROLE_USER")), 3);
+        VerifiedToken verified = provider.verify(token);
+
+        assertEquals("alice", verified.username());
+        assertEquals(3L, verified.securityVersion());
+        assertEquals(List.of(new SimpleGrantedAuthority("ROLE_USER")), verified.authorities());
+    }
+
+    @Test
+    void carriesSessionAndGenerations() {
+        JwtTokenProvider provider = provider(new SigningKeyProperties());
+
+        String token = provider.generateToken("alice", List.of(new SimpleGrantedAuthority("ROLE_USER")), 0,
+                "family", Map.of("user", 1792312819000L));
+        String legacyToken = provider.generateToken("alice", List.of(), 0);
+
+        assertEquals("family", provider.verify(token).sessionId());
+        assertEquals(Map.of("user", 1792312819000L), provider.verify(token).generations());
+        assertEquals(Map.of(), provider.verify(legacyToken).generations());
+    }
+
+    @Test
+    void keepsAcceptingLegacyTokensAfterRotatingToEs256() throws Exception {
+        String legacyToken = Jwts.builder()
+                .setSubject("alice")
+                .setExpiration(new Date(System.currentTimeMillis() + 60000))
+                .signWith(new SecretKeySpec(Decoders.BASE64.decode(SECRET), "HmacSHA256"), SignatureAlgorithm.HS256)
+                .compact();
+        JwtTokenProvider provider = provider(es256Properties());
+
+        String token = provider.generateToken("bob", List.of(), 0);
+
+        assertEquals("alice", provider.verify(legacyToken).username());
+        assertEquals("bob", provider.verify(token).username());
+        String header = new String(Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.'))));
+        assertTrue(header.contains("\"kid\":\"es\"") && header.contains("\"alg\":\"ES256\""));
+    }
+
+    @Test
+    void rejectsTokensWhoseAlgorithmDoesNotMatchTheKey() {
+        String forged = Jwts.builder()
+                .setHeaderParam("kid", SigningKeyRegistry.LEGACY_KID)
+                .setSubject("mallory")
+                .setExpiration(new Date(System.currentTimeMillis() + 60000))
+                .signWith(Keys.secretKeyFor(SignatureAlgorithm.HS512), SignatureAlgorithm.HS512)
+                .compact();
+        JwtTokenProvider provider = provider(new SigningKeyProperties());
+
+        assertThrows(JwtException.class, () -> provider.verify(forged));
+    }
+
+    private static JwtTokenProvider provider(SigningKeyProperties properties) {
+        return new JwtTokenProvider(60000, new SigningKeyRegistry(SECRET, properties), new VerifiedTokenCache(true, 100));
+    }
+
+    private static SigningKeyProperties es256Properties() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        KeyPair keyPair = generator.generateKeyPair();
+        SigningKeyProperties.KeyProperties key = new SigningKeyProperties.KeyProperties();
+        key.setKid("es");
+        key.setAlgorithm("ES256");
+        key.setPrivateKey(pem("PRIVATE KEY", keyPair.getPrivate().getEncoded()));
+        key.setPublicKey(pem("PUBLIC KEY", keyPair.getPublic().getEncoded()));
+        SigningKeyProperties properties = new SigningKeyProperties();
+        properties.setActiveKid("es");
+        properties.setKeys(List.of(key));
+        return properties;
+    }
+
+    private static String pem(String type, byte[] der) {
+        return "-----BEGIN " + type + "-----\n" + Base64.getMimeEncoder().encodeToString(der) + "\n-----END " + type + "-----";
+    }
+}
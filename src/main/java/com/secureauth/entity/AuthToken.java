@@ -1,32 +0,0 @@
-package com.secureauth.entity;
-
-import jakarta.persistence.*;
-import lombok.*;
-
-import java.time.Instant;
-
-@Entity
-@Table(name = "auth_tokens")
-@Getter
-@Setter
-@NoArgsConstructor
-@AllArgsConstructor
-public class AuthToken {
-
-    @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id;
-
-    @Column(nullable = false, unique = true)
-    private String token;
-
-    @Column(nullable = false)
-    private Instant expiryDate; // تاریخ انقضا توکن
-
-    @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "user_id", nullable = false)
-    private User user;
-
-    @Column(nullable = false)
-    private boolean revoked = false; // مشخص می‌کند آیا توکن لغو شده است یا نه
-}
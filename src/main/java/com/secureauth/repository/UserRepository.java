@@ -1,28 +0,0 @@
-package com.secureauth.repository;
-
-import com.secureauth.entity.User;
-import org.springframework.data.jpa.repository.JpaRepository;
-
-import java.util.Optional;
-
-/**
- * Repository for managing User entities.
- */
-public interface UserRepository extends JpaRepository<User, Long> {
-
-    /**
-     * Finds a user by username.
-     *
-     * @param username the username
-     * @return an Optional containing the user, if found
-     */
-    Optional<User> findByUsername(String username);
-
-    /**
-     * Checks if a user exists by username.
-     *
-     * @param username the username
-     * @return true if the user exists, false otherwise
-     */
-    boolean existsByUsername(String username);
-}
\ No newline at end of file
@@ -1,90 +0,0 @@
-package com.secureauth.security;
-
-import com.secureauth.service.TokenBlacklistService;
-import jakarta.servlet.FilterChain;
-import jakarta.servlet.ServletException;
-import jakarta.servlet.http.HttpServletRequest;
-import jakarta.servlet.http.HttpServletResponse;
-import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.annotation.Lazy;
-import org.springframework.data.redis.RedisConnectionFailureException;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
-import org.springframework.stereotype.Component;
-import org.springframework.web.filter.OncePerRequestFilter;
-
-import java.io.IOException;
-
-@Component
-@Slf4j
-public class JwtAuthFilter extends OncePerRequestFilter {
-
-    private final JwtTokenProvider jwtUtil;
-    private final UserDetailsService userDetailsService;
-    private final TokenBlacklistService tokenBlacklistService;
-
-    public JwtAuthFilter(JwtTokenProvider jwtUtil,
-                         @Lazy UserDetailsService userDetailsService,
-                         TokenBlacklistService tokenBlacklistService) {
-        this.jwtUtil = jwtUtil;
-        this.userDetailsService = userDetailsService;
-        this.tokenBlacklistService = tokenBlacklistService;
-    }
-
-    /**
-     * Processes each request to validate JWT token and check if it's blacklisted
-     *
-     * @param request     the HTTP request * @param response the HTTP response
-     * @param filterChain the filter chain
-     */
-    @Override
-    protected void doFilterInternal(HttpServletRequest request,
-                                    HttpServletResponse response,
-                                    FilterChain filterChain) throws ServletException, IOException {
-        String authHeader = request.getHeader("Authorization");
-        log.debug("Processing request for path: {}", request.getRequestURI());
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            log.debug("No valid Bearer token found, proceeding to next filter");
-            filterChain.doFilter(request, response);
-            return;
-        }
-        String token = authHeader.substring(7);
-        log.debug("Extracted token: {}", token);
-        try {
-            // Check if token is blacklisted
-            if (tokenBlacklistService.isTokenBlacklisted(token)) {
-                log.warn("Token is blacklisted, sending error response");
-                response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Token is blacklisted");
-                return;
-                //  اطمینان از توقف کامل پردازش
-            }
-            String username = jwtUtil.extractUsername(token);
-            log.debug("Extracted username: {}", username != null ? username : "null");
-            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                if (jwtUtil.isValid(token, userDetails)) {
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
-                    log.debug("Authentication set for user: {}", username);
-                }
-            }
-            filterChain.doFilter(request, response);
-        } catch (RedisConnectionFailureException e) {
-            log.error("Redis connection failed during token validation: {}", e.getMessage(), e);
-            if (!response.isCommitted()) {
-                response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Service unavailable due to Redis failure");
-            }
-        } catch (Exception e) {
-            log.error("Unexpected error during token validation: {}", e.getMessage(), e);
-
-            //  مدیریت همه استثناها
-            if (!response.isCommitted()) {
-                response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Invalid token");
-            }
-        }
-    }
-}
\ No newline at end of file
@@ -1,68 +0,0 @@
-package com.secureauth.security;
-
-import io.jsonwebtoken.JwtException;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.stereotype.Component;
-
-import java.util.Date;
-
-/**
- * Provides utility methods for generating and validating JWT tokens.
- */
-@Component
-public class JwtTokenProvider {
-
-    @Value("${jwt.secret}")
-    private String secret;
-
-    @Value("${jwt.expiration}")
-    private long expirationMs;
-
-    /**
-     * Generates a JWT token for the given username.
-     *
-     * @param username the username to include in the token
-     * @return the generated JWT token
-     */
-    public  String generateToken(String username) {
-        return Jwts.builder()
-                .setSubject(username)
-                .setIssuedAt(new Date())
-                .setExpiration(new Date(System.currentTimeMillis() + expirationMs))
-                .signWith(SignatureAlgorithm.HS256, secret)
-                .compact();
-    }
-
-    /**
-     * Extracts the username from a JWT token.
-     *
-     * @param token the JWT token
-     * @return the username
-     * @throws JwtException if the token is invalid
-     */
-    public String extractUsername(String token) {
-        return Jwts.parser()
-                .setSigningKey(secret)
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
-    }
-
-    /**
-     * Validates a JWT token against user details
-     *
-     * @param token the JWT token * @param userDetails the user details to validate against
-     * @return true if the token is valid, false otherwise
-     */
-    public boolean isValid(String token, UserDetails userDetails) {
-        try {
-            String username = extractUsername(token);
-            return username.equals(userDetails.getUsername());
-        } catch (JwtException e) {
-            return false;
-        }
-    }
-}
\ No newline at end of file